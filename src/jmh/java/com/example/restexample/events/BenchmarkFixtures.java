@@ -0,0 +1,155 @@
+package com.example.restexample.events;
+
+import com.example.restexample.RestExampleApplication;
+import com.example.restexample.accounts.Account;
+import com.example.restexample.configs.AppProperties;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.AnnotationLinkRelationProvider;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.hateoas.server.core.DelegatingLinkRelationProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.Filter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+final class BenchmarkFixtures {
+    private BenchmarkFixtures() {
+    }
+
+    static EventDto eventDto() {
+        return EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 12, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 23, 0))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 10, 0))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 25, 20, 0))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타트업 팩토리")
+                .build();
+    }
+
+    static Event event(int id) {
+        return Event.builder()
+                .id(id)
+                .name("event " + id)
+                .description("test event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 12, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 23, 0))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 10, 0))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 25, 20, 0))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타트업 팩토리")
+                .free(false)
+                .offline(true)
+                .eventStatus(EventStatus.DRAFT)
+                .manager(Account.builder().id(1).build())
+                .build();
+    }
+
+    static List<Event> events(int size) {
+        return IntStream.range(0, size)
+                .mapToObj(BenchmarkFixtures::event)
+                .collect(Collectors.toList());
+    }
+
+    // 애플리케이션이 HAL 응답을 쓸 때와 같은 구성의 ObjectMapper
+    static ObjectMapper halObjectMapper() {
+        return halObjectMapper(new JsonFactory(), false);
+    }
+
+    // 애플리케이션처럼 같은 HAL 설정에 인코딩(JSON, Smile, CBOR)과 Afterburner 만 바꾼다.
+    static ObjectMapper halObjectMapper(JsonFactory jsonFactory, boolean afterburner) {
+        ObjectMapper objectMapper = new ObjectMapper(jsonFactory);
+        if (afterburner) {
+            objectMapper.registerModule(new AfterburnerModule());
+        }
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.registerModule(new Jackson2HalModule());
+        objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DelegatingLinkRelationProvider(new AnnotationLinkRelationProvider(), new DefaultLinkRelationProvider()),
+                CurieProvider.NONE,
+                MessageResolver.DEFAULTS_ONLY));
+        return objectMapper;
+    }
+
+    // linkTo() 는 현재 요청을 기준으로 URI를 만들기 때문에 벤치마크 스레드에 요청을 바인딩한다.
+    static void bindRequest(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    static void unbindRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    static ConfigurableApplicationContext startApplication(String... args) {
+        return new SpringApplicationBuilder(RestExampleApplication.class)
+                .profiles("jmh")
+                .run(args);
+    }
+
+    // 보안 필터까지 거치는 MockMvc
+    static MockMvc mockMvc(ConfigurableApplicationContext context) {
+        return MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+                .build();
+    }
+
+    // 이벤트 API 는 비동기로 처리되므로 결과가 나올 때까지 기다렸다가 디스패치한다.
+    static MvcResult perform(MockMvc mockMvc, RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+        if (!mvcResult.getRequest().isAsyncStarted()) {
+            return mvcResult;
+        }
+        return mockMvc.perform(asyncDispatch(mvcResult)).andReturn();
+    }
+
+    static String bearerToken(MockMvc mockMvc, AppProperties appProperties) throws Exception {
+        String clientCredentials = appProperties.getClientId() + ":" + appProperties.getClientSecret();
+        String response = mockMvc.perform(post("/oauth/token")
+                        .header(HttpHeaders.AUTHORIZATION, "Basic " + Base64.getEncoder()
+                                .encodeToString(clientCredentials.getBytes(StandardCharsets.UTF_8)))
+                        .param("username", appProperties.getUserUsername())
+                        .param("password", appProperties.getUserPassword())
+                        .param("grant_type", "password"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return "Bearer " + new Jackson2JsonParser().parseMap(response).get("access_token");
+    }
+}
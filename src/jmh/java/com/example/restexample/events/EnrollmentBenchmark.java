@@ -0,0 +1,121 @@
+package com.example.restexample.events;
+
+import com.example.restexample.accounts.Account;
+import com.example.restexample.enrollments.EnrollmentRejectedException;
+import com.example.restexample.enrollments.EnrollmentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 1000 명이 한 이벤트에 동시에 등록하는 시간을 잰다. 좌석은 절반만 있다.
+ * seatBlocks=1 은 좌석 수를 한 행에 두고 모두가 그 행을 잠그는 경우와 같다.
+ * 메모리 H2 는 왕복 시간이 없어 잠금을 거의 잡지 않으므로, SQL 마다 databaseDelayMillis 를 더해 네트워크 너머의 DB 를 흉내 낸다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class EnrollmentBenchmark {
+    private static final int ENROLLERS = 1000;
+    // 애플리케이션이 시작할 때 만드는 계정과 겹치지 않는 id
+    private static final int FIRST_ACCOUNT_ID = 100_000;
+
+    @Param({"1", "16"})
+    public int seatBlocks;
+
+    @Param({"0", "1"})
+    public long databaseDelayMillis;
+
+    private ConfigurableApplicationContext context;
+    private EventRepository eventRepository;
+    private EnrollmentService enrollmentService;
+    private ExecutorService executor;
+    private List<Account> accounts;
+    private Event event;
+
+    @Setup
+    public void setUp() {
+        SlowStatementInspector.delayMillis = this.databaseDelayMillis;
+        this.context = BenchmarkFixtures.startApplication(
+                "--my-app.enrollment-seat-blocks=" + this.seatBlocks,
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + SlowStatementInspector.class.getName());
+        this.eventRepository = this.context.getBean(EventRepository.class);
+        this.enrollmentService = this.context.getBean(EnrollmentService.class);
+        this.executor = Executors.newFixedThreadPool(ENROLLERS);
+
+        this.accounts = IntStream.range(0, ENROLLERS)
+                .mapToObj(i -> Account.builder().id(FIRST_ACCOUNT_ID + i).email("enroller" + i + "@email.com").password("pass").build())
+                .collect(Collectors.toList());
+        this.context.getBean(JdbcTemplate.class).batchUpdate("insert into account (id, email, password) values (?, ?, ?)",
+                this.accounts.stream()
+                        .map(account -> new Object[]{account.getId(), account.getEmail(), account.getPassword()})
+                        .collect(Collectors.toList()));
+    }
+
+    // 매번 새 이벤트에 등록한다. 좌석 묶음을 만드는 첫 등록도 측정에 들어간다.
+    @Setup(Level.Invocation)
+    public void createEvent() {
+        LocalDateTime now = LocalDateTime.now();
+        this.event = this.eventRepository.save(Event.builder()
+                .name("popular event")
+                .description("test event")
+                .beginEnrollmentDateTime(now.minusDays(1))
+                .closeEnrollmentDateTime(now.plusDays(1))
+                .beginEventDateTime(now.plusDays(2))
+                .endEventDateTime(now.plusDays(3))
+                .limitOfEnrollment(ENROLLERS / 2)
+                .eventStatus(EventStatus.PUBLISHED)
+                .build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.executor.shutdownNow();
+        this.context.close();
+    }
+
+    /**
+     * @return 등록에 성공한 수. 항상 ENROLLERS / 2 여야 한다.
+     */
+    @Benchmark
+    public int enrollConcurrently() throws Exception {
+        Integer eventId = this.event.getId();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>(ENROLLERS);
+        for (Account account : this.accounts) {
+            futures.add(this.executor.submit(() -> {
+                start.await();
+                try {
+                    return this.enrollmentService.enroll(eventId, account).isPresent();
+                } catch (EnrollmentRejectedException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int enrolled = 0;
+        for (Future<Boolean> future : futures) {
+            if (future.get()) {
+                enrolled++;
+            }
+        }
+        if (enrolled != ENROLLERS / 2) {
+            throw new IllegalStateException("enrolled " + enrolled + " of " + ENROLLERS / 2 + " seats");
+        }
+        return enrolled;
+    }
+}
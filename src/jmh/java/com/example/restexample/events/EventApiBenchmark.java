@@ -0,0 +1,88 @@
+package com.example.restexample.events;
+
+import com.example.restexample.configs.AppProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * H2 위에서 MockMvc 로 요청 전체(보안 필터, 컨트롤러, JPA, HAL 직렬화)를 왕복하는 벤치마크.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EventApiBenchmark {
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private ObjectMapper objectMapper;
+    private String bearerToken;
+    private byte[] eventDtoJson;
+    private Integer eventId;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.context = BenchmarkFixtures.startApplication();
+        this.mockMvc = BenchmarkFixtures.mockMvc(this.context);
+        this.objectMapper = this.context.getBean(ObjectMapper.class);
+        this.eventDtoJson = this.objectMapper.writeValueAsBytes(BenchmarkFixtures.eventDto());
+        this.bearerToken = BenchmarkFixtures.bearerToken(this.mockMvc, this.context.getBean(AppProperties.class));
+
+        IntStream.range(0, 100).forEach(i -> createEvent());
+        this.eventId = createEvent();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public MvcResult createEvent_roundTrip() throws Exception {
+        return BenchmarkFixtures.perform(this.mockMvc, post("/api/events/")
+                        .header(HttpHeaders.AUTHORIZATION, this.bearerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaTypes.HAL_JSON)
+                        .content(this.eventDtoJson));
+    }
+
+    @Benchmark
+    public MvcResult queryEvents_roundTrip() throws Exception {
+        return BenchmarkFixtures.perform(this.mockMvc, get("/api/events")
+                        .param("page", "1")
+                        .param("size", "20")
+                        .param("sort", "name,DESC"));
+    }
+
+    @Benchmark
+    public MvcResult getEvent_roundTrip() throws Exception {
+        return BenchmarkFixtures.perform(this.mockMvc, get("/api/events/{id}", this.eventId));
+    }
+
+    @Benchmark
+    public MvcResult updateEvent_roundTrip() throws Exception {
+        return BenchmarkFixtures.perform(this.mockMvc, put("/api/events/{id}", this.eventId)
+                        .header(HttpHeaders.AUTHORIZATION, this.bearerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.eventDtoJson));
+    }
+
+    private Integer createEvent() {
+        try {
+            String response = createEvent_roundTrip().getResponse().getContentAsString();
+            return Integer.valueOf(new Jackson2JsonParser().parseMap(response).get("id").toString());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.restexample.events;
+
+import com.example.restexample.configs.AppProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * 이벤트 batchSize 개를 단건 POST 로 만들 때와 POST /api/events/batch 한 번으로 만들 때의 처리량 비교.
+ * 두 벤치마크 모두 한 번 호출할 때 이벤트를 batchSize 개 만들므로 처리량을 그대로 비교하면 된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EventBatchBenchmark {
+    @Param({"10", "50"})
+    int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private String bearerToken;
+    private byte[] eventDtoJson;
+    private byte[] eventDtosJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.context = BenchmarkFixtures.startApplication();
+        this.mockMvc = BenchmarkFixtures.mockMvc(this.context);
+        this.bearerToken = BenchmarkFixtures.bearerToken(this.mockMvc, this.context.getBean(AppProperties.class));
+
+        ObjectMapper objectMapper = this.context.getBean(ObjectMapper.class);
+        this.eventDtoJson = objectMapper.writeValueAsBytes(BenchmarkFixtures.eventDto());
+        this.eventDtosJson = objectMapper.writeValueAsBytes(
+                Collections.nCopies(this.batchSize, BenchmarkFixtures.eventDto()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public void createEvents_single() throws Exception {
+        for (int i = 0; i < this.batchSize; i++) {
+            BenchmarkFixtures.perform(this.mockMvc, post("/api/events/")
+                            .header(HttpHeaders.AUTHORIZATION, this.bearerToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaTypes.HAL_JSON)
+                            .content(this.eventDtoJson));
+        }
+    }
+
+    @Benchmark
+    public MvcResult createEvents_batch() throws Exception {
+        return BenchmarkFixtures.perform(this.mockMvc, post("/api/events/batch")
+                        .header(HttpHeaders.AUTHORIZATION, this.bearerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaTypes.HAL_JSON)
+                        .content(this.eventDtosJson));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.restexample.events;
+
+import com.example.restexample.common.ErrorSerializer;
+import com.example.restexample.configs.AppProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.validation.Errors;
+
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이벤트 events 개를 검증해서 잘못된 항목을 NDJSON 으로 쓰는 시간.
+ * readAllThenValidate 는 배열 전체를 읽은 뒤 요청 스레드 하나에서 검증하고,
+ * validateStream 은 읽는 대로 묶음으로 나눠 parallelism 개 스레드에서 검증한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EventBatchValidatorBenchmark {
+    @Param({"1", "4"})
+    int parallelism;
+
+    @Param("20000")
+    int events;
+
+    private ValidatorFactory validatorFactory;
+    private EventBatchValidator eventBatchValidator;
+    private ObjectMapper objectMapper;
+    private ObjectWriter errorWriter;
+    private byte[] content;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+        this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.objectMapper.registerModule(new SimpleModule().addSerializer(Errors.class, new ErrorSerializer()));
+        this.errorWriter = this.objectMapper.writerFor(EventBatchError.class);
+
+        AppProperties appProperties = new AppProperties();
+        appProperties.setEventValidationParallelism(this.parallelism);
+        this.validatorFactory = Validation.buildDefaultValidatorFactory();
+        this.eventBatchValidator = new EventBatchValidator(new EventValidator(), this.validatorFactory.getValidator(),
+                this.objectMapper, appProperties, new SimpleMeterRegistry());
+
+        // 100 개 중 하나는 가격이 잘못되었다.
+        List<EventDto> eventDtos = new ArrayList<>(this.events);
+        for (int i = 0; i < this.events; i++) {
+            EventDto eventDto = BenchmarkFixtures.eventDto();
+            if (i % 100 == 0) {
+                eventDto.setBasePrice(20000);
+            }
+            eventDtos.add(eventDto);
+        }
+        this.content = this.objectMapper.writeValueAsBytes(eventDtos);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.eventBatchValidator.destroy();
+        this.validatorFactory.close();
+    }
+
+    @Benchmark
+    public int readAllThenValidate() throws Exception {
+        List<EventDto> eventDtos = this.objectMapper.readValue(this.content, new TypeReference<List<EventDto>>() {
+        });
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        for (int i = 0; i < eventDtos.size(); i++) {
+            Errors errors = this.eventBatchValidator.validate(eventDtos.get(i));
+            if (errors.hasErrors()) {
+                this.errorWriter.writeValue(outputStream, new EventBatchError(i, errors));
+                outputStream.write('\n');
+            }
+        }
+        return outputStream.size();
+    }
+
+    @Benchmark
+    public int validateStream() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        this.eventBatchValidator.validate(new ByteArrayInputStream(this.content), outputStream, () -> false);
+        return outputStream.size();
+    }
+}
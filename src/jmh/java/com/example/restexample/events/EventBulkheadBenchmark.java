@@ -0,0 +1,77 @@
+package com.example.restexample.events;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DB 가 느려졌을 때 Tomcat 스레드보다 많은 요청이 이벤트 목록을 조회하는 동안,
+ * DB 를 쓰지 않는 인덱스 조회의 지연 시간 분포를 벌크헤드를 켰을 때와 껐을 때 비교한다.
+ * 실제 포트로 HTTP 요청을 보내야 Tomcat 스레드가 막히는 효과가 드러난다.
+ * 동시 요청 한도를 켜면 목록 조회 중 일부는 대기열에서 기다리는 대신 바로 503 으로 끝난다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class EventBulkheadBenchmark {
+    private static final int TOMCAT_THREADS = 8;
+
+    @Param({"true", "false"})
+    boolean bulkheadEnabled;
+
+    @Param({"true", "false"})
+    boolean concurrencyLimitEnabled;
+
+    @Param("50")
+    long databaseDelayMillis;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest queryEvents;
+    private HttpRequest index;
+
+    @Setup
+    public void setUp() {
+        SlowStatementInspector.delayMillis = this.databaseDelayMillis;
+        this.context = BenchmarkFixtures.startApplication(
+                "--my-app.event-bulkhead-enabled=" + this.bulkheadEnabled,
+                "--my-app.event-concurrency-limit-enabled=" + this.concurrencyLimitEnabled,
+                "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + SlowStatementInspector.class.getName());
+
+        String baseUri = "http://localhost:" + this.context.getEnvironment().getProperty("local.server.port");
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.queryEvents = HttpRequest.newBuilder(URI.create(baseUri + "/api/events?count=false")).build();
+        this.index = HttpRequest.newBuilder(URI.create(baseUri + "/api")).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    @Group("slowDatabase")
+    @GroupThreads(16)
+    public int queryEvents() throws Exception {
+        return this.httpClient.send(this.queryEvents, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    @Group("slowDatabase")
+    @GroupThreads(2)
+    public int index() throws Exception {
+        return this.httpClient.send(this.index, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.restexample.events;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.EntityModel;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+/**
+ * 이벤트마다 linkTo() 로 self 링크를 만들던 방식과 EventLinks 로 만드는 방식의 비교.
+ * page_* 는 요청 하나에서 이벤트 pageSize 개의 모델을 만드는 비용이다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventEntityModelBenchmark {
+    @Param({"20", "100"})
+    int pageSize;
+
+    private Event event;
+    private List<EventView> eventViews;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.bindRequest("/api/events");
+        this.event = BenchmarkFixtures.event(1);
+        this.eventViews = BenchmarkFixtures.events(this.pageSize).stream()
+                .map(EventView::of)
+                .collect(Collectors.toList());
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkFixtures.unbindRequest();
+    }
+
+    @Benchmark
+    public EventEntityModel eventEntityModel() {
+        return new EventEntityModel(this.event);
+    }
+
+    @Benchmark
+    public EntityModel<Event> eventEntityModel_linkTo() {
+        return EntityModel.of(this.event, linkTo(EventController.class).slash(this.event.getId()).withSelfRel());
+    }
+
+    @Benchmark
+    public List<EventViewModel> page_eventLinks() {
+        BenchmarkFixtures.bindRequest("/api/events");
+        return this.eventViews.stream()
+                .map(EventViewModel::new)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<EntityModel<EventView>> page_linkTo() {
+        BenchmarkFixtures.bindRequest("/api/events");
+        return this.eventViews.stream()
+                .map(view -> EntityModel.of(view, linkTo(EventController.class).slash(view.getId()).withSelfRel()))
+                .collect(Collectors.toList());
+    }
+}
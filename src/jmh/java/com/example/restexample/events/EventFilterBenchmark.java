@@ -0,0 +1,182 @@
+package com.example.restexample.events;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 필터 조건별 목록 조회를 인덱스가 있을 때와 없을 때로 나눠 잰다.
+ * 시작할 때 Hibernate 가 만든 SQL 의 실행 계획(EXPLAIN)을 확인해서, 인덱스가 있는데 기대한 인덱스를 타지 않으면 벤치마크를 멈춘다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EventFilterBenchmark {
+    private static final String[] INDEXES = {
+            "idx_event_begin_event", "idx_event_begin_enrollment", "idx_event_status_begin_event",
+            "idx_event_manager_begin_event", "idx_event_free_offline_begin_event"
+    };
+    private static final int MANAGERS = 1000;
+    // 애플리케이션이 시작할 때 만드는 계정과 겹치지 않는 id
+    private static final int FIRST_MANAGER_ID = 100_000;
+    private static final LocalDateTime FIRST_DAY = LocalDateTime.of(2020, 1, 1, 0, 0);
+    // 5년에 걸쳐 시작 시각이 고르게 퍼진다.
+    private static final int DAYS = 5 * 365;
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    private final Pageable firstPage = PageRequest.of(0, 20, Sort.by("beginEventDateTime"));
+    private ConfigurableApplicationContext context;
+    private EventRepository eventRepository;
+    private EventFilter statusInWeek;
+    private EventFilter managerEvents;
+    private EventFilter freeOnlineInMonth;
+    private EventFilter enrollmentOpensInWeek;
+
+    @Setup
+    public void setUp() {
+        // H2 는 테이블이 바뀌지 않으면 같은 쿼리의 결과를 다시 쓰므로 이를 끄고 매번 실행하게 한다.
+        this.context = BenchmarkFixtures.startApplication(
+                "--spring.datasource.url=jdbc:h2:mem:filterdb;OPTIMIZE_REUSE_RESULTS=0",
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector=" + CapturedStatements.class.getName());
+        this.eventRepository = this.context.getBean(EventRepository.class);
+        JdbcTemplate jdbcTemplate = this.context.getBean(JdbcTemplate.class);
+
+        insertRows(jdbcTemplate);
+        if (!this.indexed) {
+            for (String index : INDEXES) {
+                jdbcTemplate.execute("drop index " + index);
+            }
+        }
+        // H2 는 통계로 인덱스를 고른다.
+        jdbcTemplate.execute("analyze");
+
+        LocalDateTime week = FIRST_DAY.plusDays(DAYS / 2);
+        this.statusInWeek = new EventFilter();
+        this.statusInWeek.setEventStatus(List.of(EventStatus.PUBLISHED));
+        this.statusInWeek.setBeginEventFrom(week);
+        this.statusInWeek.setBeginEventTo(week.plusWeeks(1));
+
+        this.managerEvents = new EventFilter();
+        this.managerEvents.setManager(FIRST_MANAGER_ID + MANAGERS / 2);
+
+        this.freeOnlineInMonth = new EventFilter();
+        this.freeOnlineInMonth.setFree(true);
+        this.freeOnlineInMonth.setOffline(false);
+        this.freeOnlineInMonth.setBeginEventFrom(week);
+        this.freeOnlineInMonth.setBeginEventTo(week.plusMonths(1));
+
+        this.enrollmentOpensInWeek = new EventFilter();
+        this.enrollmentOpensInWeek.setBeginEnrollmentFrom(week);
+        this.enrollmentOpensInWeek.setBeginEnrollmentTo(week.plusWeeks(1));
+
+        if (this.indexed) {
+            checkPlan(jdbcTemplate, "statusInWeek", this.statusInWeek, "idx_event_status_begin_event");
+            // H2 는 manager_id 외래 키에 만든 인덱스를 고르므로 이름 대신 전체 스캔이 아닌지만 본다.
+            checkPlan(jdbcTemplate, "managerEvents", this.managerEvents, null);
+            checkPlan(jdbcTemplate, "freeOnlineInMonth", this.freeOnlineInMonth, "idx_event_free_offline_begin_event");
+            checkPlan(jdbcTemplate, "enrollmentOpensInWeek", this.enrollmentOpensInWeek, "idx_event_begin_enrollment");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public Page<EventView> statusInWeek() {
+        return this.eventRepository.findAllViews(this.statusInWeek.toSpecification(), this.firstPage);
+    }
+
+    @Benchmark
+    public Page<EventView> managerEvents() {
+        return this.eventRepository.findAllViews(this.managerEvents.toSpecification(), this.firstPage);
+    }
+
+    @Benchmark
+    public Page<EventView> freeOnlineInMonth() {
+        return this.eventRepository.findAllViews(this.freeOnlineInMonth.toSpecification(), this.firstPage);
+    }
+
+    @Benchmark
+    public Page<EventView> enrollmentOpensInWeek() {
+        return this.eventRepository.findAllViews(this.enrollmentOpensInWeek.toSpecification(), this.firstPage);
+    }
+
+    private void insertRows(JdbcTemplate jdbcTemplate) {
+        List<Object[]> managers = new ArrayList<>(MANAGERS);
+        for (int i = 0; i < MANAGERS; i++) {
+            managers.add(new Object[]{FIRST_MANAGER_ID + i, "manager" + i + "@email.com", "pass"});
+        }
+        jdbcTemplate.batchUpdate("insert into account (id, email, password) values (?, ?, ?)", managers);
+
+        Random random = new Random(42);
+        EventStatus[] statuses = EventStatus.values();
+        List<Object[]> events = new ArrayList<>(1000);
+        for (int id = 1; id <= this.rows; id++) {
+            LocalDateTime beginEvent = FIRST_DAY.plusMinutes(random.nextInt(DAYS * 24 * 60));
+            LocalDateTime beginEnrollment = beginEvent.minusDays(1 + random.nextInt(30));
+            boolean free = random.nextInt(5) == 0;
+            boolean offline = random.nextInt(10) < 7;
+            events.add(new Object[]{
+                    id, 0L, "event " + id, "test event",
+                    beginEnrollment, beginEvent.minusDays(1), beginEvent, beginEvent.plusHours(2),
+                    offline ? "강남역 D2 스타트업 팩토리" : null, free ? 0 : 100, free ? 0 : 200, 100,
+                    offline, free, statuses[random.nextInt(statuses.length)].name(), FIRST_MANAGER_ID + random.nextInt(MANAGERS)
+            });
+            if (events.size() == 1000 || id == this.rows) {
+                jdbcTemplate.batchUpdate("insert into event (id, version, name, description, " +
+                        "begin_enrollment_date_time, close_enrollment_date_time, begin_event_date_time, end_event_date_time, " +
+                        "location, base_price, max_price, limit_of_enrollment, offline, free, event_status, manager_id) " +
+                        "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", events);
+                events.clear();
+            }
+        }
+    }
+
+    // 조건대로 한 번 조회해서 Hibernate 가 만든 SQL 을 모은 뒤 H2 의 실행 계획에 기대한 인덱스가 있는지 확인한다.
+    // index 가 null 이면 전체 스캔(tableScan)만 아니면 된다.
+    private void checkPlan(JdbcTemplate jdbcTemplate, String name, EventFilter filter, String index) {
+        CapturedStatements.statements.clear();
+        this.eventRepository.findAllViews(filter.toSpecification(), this.firstPage);
+        for (String sql : CapturedStatements.statements) {
+            String plan = jdbcTemplate.queryForObject("explain " + sql, String.class);
+            boolean usesIndex = index == null
+                    ? !plan.contains(".tableScan")
+                    : plan.toLowerCase().contains("public." + index + ":");
+            if (!usesIndex) {
+                throw new IllegalStateException(String.format("%s does not use %s:%n%s",
+                        name, index == null ? "an index" : index, plan));
+            }
+        }
+    }
+
+    public static class CapturedStatements implements StatementInspector {
+        static final Queue<String> statements = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.restexample.events;
+
+import com.example.restexample.accounts.Account;
+import com.example.restexample.accounts.AccountRepository;
+import com.example.restexample.accounts.AccountRole;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이벤트 pageSize 개를 영속성 컨텍스트에 읽어 들일 때 할당되는 메모리.
+ * -prof gc 로 실행해서 gc.alloc.rate.norm (B/op) 을 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EventFootprintBenchmark {
+    @Param("1000")
+    int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private EventRepository eventRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        this.context = BenchmarkFixtures.startApplication();
+        this.eventRepository = this.context.getBean(EventRepository.class);
+        this.transactionTemplate = new TransactionTemplate(this.context.getBean(PlatformTransactionManager.class));
+        this.transactionTemplate.setReadOnly(true);
+
+        Account manager = this.context.getBean(AccountRepository.class).save(Account.builder()
+                .email("footprint@email.com")
+                .password("pass")
+                .roles(Set.of(AccountRole.USER))
+                .build());
+        List<Event> events = BenchmarkFixtures.events(this.pageSize);
+        events.forEach(event -> {
+            event.setId(null);
+            event.setManager(manager);
+        });
+        this.eventRepository.saveAll(events);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public List<Event> loadPage() {
+        return this.transactionTemplate.execute(status -> this.eventRepository
+                .findAll(PageRequest.of(0, this.pageSize, Sort.by("id")))
+                .getContent());
+    }
+}
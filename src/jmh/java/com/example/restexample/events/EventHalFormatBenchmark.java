@@ -0,0 +1,87 @@
+package com.example.restexample.events;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 HAL 이벤트 페이지를 JSON, Smile, CBOR 로 쓰는 시간을 Afterburner 를 켰을 때와 껐을 때 비교한다.
+ * 본문 크기는 {@link Payload} 의 보조 지표로 결과 파일에 남기고, jmhCompare 가 payloadBytes / payloads 로 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EventHalFormatBenchmark {
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean afterburner;
+
+    @Param("100")
+    private int pageSize;
+
+    private ObjectMapper halObjectMapper;
+    private PagedModel<EventEntityModel> pagedModel;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.halObjectMapper = BenchmarkFixtures.halObjectMapper(jsonFactory(this.format), this.afterburner);
+
+        BenchmarkFixtures.bindRequest("/api/events");
+        try {
+            var page = new PageImpl<>(BenchmarkFixtures.events(this.pageSize),
+                    PageRequest.of(1, this.pageSize), this.pageSize * 10L);
+            var assembler = new PagedResourcesAssembler<Event>(new HateoasPageableHandlerMethodArgumentResolver(), null);
+            this.pagedModel = assembler.toModel(page, EventEntityModel::new);
+            this.pagedModel.add(Link.of("/docs/index.html#resources-events-list").withRel("profile"));
+        } finally {
+            BenchmarkFixtures.unbindRequest();
+        }
+    }
+
+    @Benchmark
+    public byte[] serializePage(Payload payload) throws Exception {
+        byte[] bytes = this.halObjectMapper.writeValueAsBytes(this.pagedModel);
+        payload.payloadBytes += bytes.length;
+        payload.payloads++;
+        return bytes;
+    }
+
+    /**
+     * 쓴 본문의 바이트 수와 개수. JMH 는 EVENTS 지표를 반복(iteration)마다 더하므로 크기 자체가 아니라 둘의 비율로 본다.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long payloadBytes;
+        public long payloads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.payloadBytes = 0;
+            this.payloads = 0;
+        }
+    }
+
+    private static JsonFactory jsonFactory(String format) {
+        switch (format) {
+            case "smile":
+                return new SmileFactory();
+            case "cbor":
+                return new CBORFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+}
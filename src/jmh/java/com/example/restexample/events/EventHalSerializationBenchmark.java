@@ -0,0 +1,55 @@
+package com.example.restexample.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EventHalSerializationBenchmark {
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper halObjectMapper;
+    private PagedModel<EventEntityModel> pagedModel;
+    private PagedModel<EventViewModel> viewPagedModel;
+
+    @Setup
+    public void setUp() {
+        this.halObjectMapper = BenchmarkFixtures.halObjectMapper();
+
+        BenchmarkFixtures.bindRequest("/api/events");
+        try {
+            var page = new PageImpl<>(BenchmarkFixtures.events(this.pageSize),
+                    PageRequest.of(1, this.pageSize), this.pageSize * 10L);
+            var assembler = new PagedResourcesAssembler<Event>(new HateoasPageableHandlerMethodArgumentResolver(), null);
+            this.pagedModel = assembler.toModel(page, EventEntityModel::new);
+            this.pagedModel.add(Link.of("/docs/index.html#resources-events-list").withRel("profile"));
+
+            var viewPage = page.map(EventView::of);
+            var viewAssembler = new PagedResourcesAssembler<EventView>(new HateoasPageableHandlerMethodArgumentResolver(), null);
+            this.viewPagedModel = viewAssembler.toModel(viewPage, EventViewModel::new);
+            this.viewPagedModel.add(Link.of("/docs/index.html#resources-events-list").withRel("profile"));
+        } finally {
+            BenchmarkFixtures.unbindRequest();
+        }
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return this.halObjectMapper.writeValueAsBytes(this.pagedModel);
+    }
+
+    @Benchmark
+    public byte[] serializeViewPage() throws Exception {
+        return this.halObjectMapper.writeValueAsBytes(this.viewPagedModel);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.restexample.events;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventMappingBenchmark {
+    private ModelMapper modelMapper;
+    private EventMapper eventMapper;
+    private EventDto eventDto;
+    private Event existingEvent;
+
+    @Setup
+    public void setUp() {
+        this.modelMapper = new ModelMapper();
+        this.eventMapper = new EventMapper();
+        this.eventDto = BenchmarkFixtures.eventDto();
+        this.existingEvent = BenchmarkFixtures.event(1);
+    }
+
+    @Benchmark
+    public Event modelMapperCreate() {
+        return this.modelMapper.map(this.eventDto, Event.class);
+    }
+
+    @Benchmark
+    public Event eventMapperCreate() {
+        return this.eventMapper.toEvent(this.eventDto);
+    }
+
+    @Benchmark
+    public Event modelMapperUpdate() {
+        this.modelMapper.map(this.eventDto, this.existingEvent);
+        return this.existingEvent;
+    }
+
+    @Benchmark
+    public Event eventMapperUpdate() {
+        this.eventMapper.update(this.eventDto, this.existingEvent);
+        return this.existingEvent;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.restexample.events;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검색 색인과 LIKE '%x%' 같은 전체 훑기를 비교한다.
+ * 단어는 앞쪽 단어가 더 자주 나오도록 뽑아서 흔한 단어와 드문 단어를 모두 만든다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EventSearchBenchmark {
+    private static final String[] PLACES = {
+            "강남역 D2 스타트업 팩토리", "판교 테크노밸리", "서울대학교 연구공원", "부산 벡스코", "대전 컨벤션센터",
+            "온라인", "광화문 스페이스", "성수동 공유오피스", "잠실 롯데타워", "제주 스타트업베이"
+    };
+    private static final String[] HANGUL_WORDS = {
+            "스프링", "자바", "코틀린", "데이터베이스", "클라우드", "보안", "성능", "테스트", "설계", "운영",
+            "모니터링", "배포", "컨테이너", "메시지", "검색", "캐시", "네트워크", "분산", "트랜잭션", "인증"
+    };
+
+    @Param({"1000000"})
+    public int events;
+
+    private final Pageable firstPage = PageRequest.of(0, 20);
+    private EventSearchIndex index;
+    private List<EventView> views;
+
+    @Setup
+    public void setUp() {
+        this.index = new EventSearchIndex(null);
+        this.views = new ArrayList<>(this.events);
+        Random random = new Random(42);
+        for (int id = 1; id <= this.events; id++) {
+            EventView view = EventView.of(Event.builder()
+                    .id(id)
+                    .name(word(random) + " " + HANGUL_WORDS[random.nextInt(HANGUL_WORDS.length)] + " " + word(random))
+                    .description(description(random))
+                    .location(PLACES[random.nextInt(PLACES.length)])
+                    .eventStatus(EventStatus.DRAFT)
+                    .build());
+            this.index.index(view);
+            this.views.add(view);
+        }
+    }
+
+    // 두 단어 모두 드물어서 결과가 몇 개 안 되는 검색
+    @Benchmark
+    public Page<EventView> searchRareTerms() {
+        return this.index.search("word4711 word977", this.firstPage);
+    }
+
+    // 이벤트의 약 5% 에 들어가는 한글 단어와 10% 에 들어가는 장소를 함께 찾는 검색
+    @Benchmark
+    public Page<EventView> searchHangulTerms() {
+        return this.index.search("보안 판교", this.firstPage);
+    }
+
+    // 결과가 수만 개인 흔한 단어 하나. 모든 결과의 점수를 매겨야 하는 가장 나쁜 경우다.
+    @Benchmark
+    public Page<EventView> searchCommonTerm() {
+        return this.index.search("word1", this.firstPage);
+    }
+
+    // 색인 없이 LIKE '%word4711%' 처럼 전체를 훑는 경우
+    @Benchmark
+    public int scanRareTerm() {
+        int matches = 0;
+        for (EventView view : this.views) {
+            if (view.getName().contains("word4711") || view.getDescription().contains("word4711")) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private static String description(Random random) {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            description.append(word(random)).append(' ');
+        }
+        return description.append(HANGUL_WORDS[random.nextInt(HANGUL_WORDS.length)]).append("으로 만드는 서비스").toString();
+    }
+
+    // 0 에 가까운 번호일수록 자주 나온다.
+    private static String word(Random random) {
+        return "word" + (int) Math.pow(10_000, random.nextDouble());
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.restexample.events;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventValidatorBenchmark {
+    private EventValidator eventValidator;
+    private EventDto validEventDto;
+    private EventDto wrongEventDto;
+
+    @Setup
+    public void setUp() {
+        this.eventValidator = new EventValidator();
+        this.validEventDto = BenchmarkFixtures.eventDto();
+        this.wrongEventDto = EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 26, 12, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 23, 0))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 26, 10, 0))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 25, 20, 0))
+                .basePrice(10000)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .build();
+    }
+
+    @Benchmark
+    public Errors validate() {
+        Errors errors = new BeanPropertyBindingResult(this.validEventDto, "eventDto");
+        this.eventValidator.validate(this.validEventDto, errors);
+        return errors;
+    }
+
+    @Benchmark
+    public Errors validateWrongInput() {
+        Errors errors = new BeanPropertyBindingResult(this.wrongEventDto, "eventDto");
+        this.eventValidator.validate(this.wrongEventDto, errors);
+        return errors;
+    }
+}
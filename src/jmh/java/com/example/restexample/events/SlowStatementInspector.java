@@ -0,0 +1,20 @@
+package com.example.restexample.events;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 느려진 DB 를 흉내 낸다. 커넥션을 잡은 채로 SQL 을 준비할 때마다 delayMillis 만큼 기다린다.
+ */
+public class SlowStatementInspector implements StatementInspector {
+    static volatile long delayMillis;
+
+    @Override
+    public String inspect(String sql) {
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return sql;
+    }
+}
@@ -16,6 +16,11 @@ public class AccountAdapter extends User {
         this.account = account;
     }
 
+    public AccountAdapter(Account account, Collection<? extends GrantedAuthority> authorities) {
+        super(account.getEmail(), account.getPassword(), authorities);
+        this.account = account;
+    }
+
     public Account getAccount() {
         return account;
     }
@@ -1,14 +1,22 @@
 package com.example.restexample.accounts;
 
+import com.example.restexample.configs.AppProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+
 @Service
-public class AccountService implements UserDetailsService {
+public class AccountService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     AccountRepository accountRepository;
@@ -16,16 +24,56 @@ public class AccountService implements UserDetailsService {
     @Autowired
     PasswordEncoder passwordEncoder;
 
+    @Autowired
+    AppProperties appProperties;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    // 토큰 발급과 갱신 때마다 계정과 roles 를 다시 읽지 않도록 이메일별로 캐시한다.
+    private Cache<String, AccountAdapter> accountCache;
+
+    @PostConstruct
+    void initAccountCache() {
+        this.accountCache = Caffeine.newBuilder()
+                .maximumSize(appProperties.getAccountCacheMaximumSize())
+                .expireAfterWrite(appProperties.getAccountCacheTimeToLive())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.accountCache, "accounts");
+    }
+
     public Account saveAccount(Account account) {
         account.setPassword(this.passwordEncoder.encode(account.getPassword()));
-        return this.accountRepository.save(account);
+        Account savedAccount = this.accountRepository.save(account);
+        this.accountCache.invalidate(savedAccount.getEmail());
+        return savedAccount;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Account account = accountRepository.findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException(username));
+        AccountAdapter cached = this.accountCache.get(username, key -> accountRepository.findByEmail(key)
+                .map(AccountAdapter::new)
+                .orElse(null));
+        if (cached == null) {
+            throw new UsernameNotFoundException(username);
+        }
+
+        // 인증이 끝나면 돌려준 UserDetails 의 비밀번호를 지우므로 캐시에 있는 것은 내주지 않는다.
+        return new AccountAdapter(cached.getAccount(), cached.getAuthorities());
+    }
+
+    /**
+     * 로그인에 성공했을 때 저장된 해시의 강도가 설정과 다르면 불린다. newPassword 는 이미 해시된 값이다.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Account account = this.accountRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException(user.getUsername()));
+        account.setPassword(newPassword);
+        Account savedAccount = this.accountRepository.save(account);
+        this.accountCache.invalidate(savedAccount.getEmail());
 
-        return new AccountAdapter(account);
+        return new AccountAdapter(savedAccount);
     }
 }
@@ -0,0 +1,81 @@
+package com.example.restexample.accounts;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 해시 계산을 크기가 정해진 작업 스레드에서 하는 PasswordEncoder.
+ * 로그인이 몰려도 bcrypt 가 쓰는 CPU 는 작업 스레드 수를 넘지 않고,
+ * 대기열이 차면 기다리지 않고 바로 {@link PasswordEncodingRejectedException} 을 던진다.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutNanos;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration timeout) {
+        this.delegate = delegate;
+        this.timeoutNanos = timeout.toNanos();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-encoder-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> this.delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> this.delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // 해시의 접두어와 강도만 비교하므로 작업 스레드로 넘기지 않는다.
+        return this.delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = this.executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordEncodingRejectedException("Too many password hashing requests", e);
+        }
+
+        try {
+            return future.get(this.timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new PasswordEncodingRejectedException("Password hashing timed out", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new AuthenticationServiceException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        this.executor.shutdownNow();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.restexample.accounts;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * 비밀번호 해시 작업이 밀려서 받아들이지 못한 경우. 자격 증명이 틀린 것과 구분해 503 으로 응답한다.
+ */
+public class PasswordEncodingRejectedException extends AuthenticationServiceException {
+    private static final long serialVersionUID = 1L;
+
+    public PasswordEncodingRejectedException(String msg, Throwable cause) {
+        super(msg, cause);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.restexample.common;
+
+import org.springframework.http.MediaType;
+
+/**
+ * HAL 응답을 텍스트 JSON 대신 쓸 수 있는 바이너리 형식. 구조는 HAL JSON 과 같고 인코딩만 다르다.
+ */
+public final class BinaryMediaTypes {
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    public static final MediaType SMILE = MediaType.valueOf(SMILE_VALUE);
+
+    public static final String CBOR_VALUE = MediaType.APPLICATION_CBOR_VALUE;
+
+    public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+
+    private BinaryMediaTypes() {
+    }
+}
@@ -5,50 +5,49 @@ import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import org.springframework.boot.jackson.JsonComponent;
 import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
 
 import java.io.IOException;
 
 @JsonComponent
 public class ErrorSerializer extends JsonSerializer<Errors> {
+    // "errors" 필드 이름을 직접 쓰므로 @JsonUnwrapped 속성으로 쓰일 때 속성 이름을 따로 쓰지 않게 한다.
+    @Override
+    public boolean isUnwrappingSerializer() {
+        return true;
+    }
+
+    // 람다 안에서 IOException 을 삼키지 않도록 반복문으로 쓴다. 쓰다 실패하면 응답도 실패해야 한다.
     @Override
     public void serialize(Errors errors, JsonGenerator gen, SerializerProvider serializers) throws IOException {
         gen.writeFieldName("errors");
         gen.writeStartArray();
 
-        errors.getFieldErrors().forEach(e -> {
-            try{
-                gen.writeStartObject();
-
-                gen.writeStringField("field", e.getField());
-                gen.writeStringField("objectName", e.getObjectName());
-                gen.writeStringField("code", e.getCode());
-                gen.writeStringField("defaultMessage", e.getDefaultMessage());
-                Object rejectedValue = e.getRejectedValue();
-                if(rejectedValue != null){
-                    gen.writeStringField("rejectedValue", rejectedValue.toString());
-                }
+        for (FieldError e : errors.getFieldErrors()) {
+            gen.writeStartObject();
 
-                gen.writeEndObject();
+            gen.writeStringField("field", e.getField());
+            gen.writeStringField("objectName", e.getObjectName());
+            gen.writeStringField("code", e.getCode());
+            gen.writeStringField("defaultMessage", e.getDefaultMessage());
+            Object rejectedValue = e.getRejectedValue();
+            if (rejectedValue != null) {
+                gen.writeStringField("rejectedValue", rejectedValue.toString());
             }
-            catch(IOException e1){
-                e1.printStackTrace();
-            }
-        });
 
-        errors.getGlobalErrors().forEach(e -> {
-            try{
-                gen.writeStartObject();
+            gen.writeEndObject();
+        }
 
-                gen.writeStringField("objectName", e.getObjectName());
-                gen.writeStringField("code", e.getCode());
-                gen.writeStringField("defaultMessage", e.getDefaultMessage());
+        for (ObjectError e : errors.getGlobalErrors()) {
+            gen.writeStartObject();
 
-                gen.writeEndObject();
-            }
-            catch(IOException e1){
-                e1.printStackTrace();
-            }
-        });
+            gen.writeStringField("objectName", e.getObjectName());
+            gen.writeStringField("code", e.getCode());
+            gen.writeStringField("defaultMessage", e.getDefaultMessage());
+
+            gen.writeEndObject();
+        }
 
         gen.writeEndArray();
     }
@@ -0,0 +1,109 @@
+package com.example.restexample.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * 응답 본문을 쓰는 시간을 재는 HttpMessageConverter.
+ * 직렬화하면서 출력 스트림에 쓰므로 버퍼가 넘치면 소켓에 쓰는 시간도 들어간다.
+ */
+public class TimedHttpMessageConverter implements GenericHttpMessageConverter<Object> {
+    private final GenericHttpMessageConverter<Object> delegate;
+    private final String metricName;
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private volatile MeterRegistry meterRegistry;
+
+    public TimedHttpMessageConverter(GenericHttpMessageConverter<Object> delegate, String metricName,
+                                     ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.delegate = delegate;
+        this.metricName = metricName;
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return this.delegate.canRead(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return this.delegate.canRead(type, contextClass, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return this.delegate.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return this.delegate.canWrite(type, clazz, mediaType);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return this.delegate.getSupportedMediaTypes();
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return this.delegate.getSupportedMediaTypes(clazz);
+    }
+
+    @Override
+    public Object read(Class<?> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        return this.delegate.read(clazz, inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        return this.delegate.read(type, contextClass, inputMessage);
+    }
+
+    @Override
+    public void write(Object o, MediaType contentType, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Timer.Sample sample = Timer.start();
+        try {
+            this.delegate.write(o, contentType, outputMessage);
+        } finally {
+            stop(sample, o);
+        }
+    }
+
+    @Override
+    public void write(Object o, Type type, MediaType contentType, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Timer.Sample sample = Timer.start();
+        try {
+            this.delegate.write(o, type, contentType, outputMessage);
+        } finally {
+            stop(sample, o);
+        }
+    }
+
+    private void stop(Timer.Sample sample, Object o) {
+        // 레지스트리는 컨버터가 만들어진 뒤에 준비될 수 있어서 처음 쓸 때 가져온다.
+        MeterRegistry meterRegistry = this.meterRegistry;
+        if (meterRegistry == null) {
+            meterRegistry = this.meterRegistryProvider.getObject();
+            this.meterRegistry = meterRegistry;
+        }
+        sample.stop(Timer.builder(this.metricName)
+                .tag("type", o.getClass().getSimpleName())
+                .register(meterRegistry));
+    }
+}
@@ -4,18 +4,24 @@ import com.example.restexample.accounts.Account;
 import com.example.restexample.accounts.AccountRepository;
 import com.example.restexample.accounts.AccountRole;
 import com.example.restexample.accounts.AccountService;
+import com.example.restexample.accounts.BoundedPasswordEncoder;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Map;
 import java.util.Set;
 
 @Configuration
+@EnableScheduling
 public class AppConfig {
     @Bean
     public ModelMapper modelMapper(){
@@ -23,8 +29,23 @@ public class AppConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    public PasswordEncoder passwordEncoder(AppProperties appProperties) {
+        int strength = appProperties.getPasswordEncoderStrength();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength) {
+            // 강도를 바꾸면 높이든 낮추든 다음 로그인 때 새 강도로 다시 해시한다. 해시는 $2a$10$... 형식이다.
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                return encodedPassword != null && encodedPassword.length() > 7
+                        && !encodedPassword.startsWith(String.format("%02d$", strength), 4);
+            }
+        };
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        passwordEncoder.setDefaultPasswordEncoderForMatches(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+
+        return new BoundedPasswordEncoder(passwordEncoder,
+                appProperties.getPasswordEncoderThreads(),
+                appProperties.getPasswordEncoderQueueCapacity(),
+                appProperties.getPasswordEncoderTimeout());
     }
 
     @Bean
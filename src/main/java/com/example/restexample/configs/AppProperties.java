@@ -6,6 +6,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import javax.validation.constraints.NotEmpty;
+import java.time.Duration;
 
 @Component
 @ConfigurationProperties(prefix = "my-app")
@@ -28,4 +29,60 @@ public class AppProperties {
 
     @NotEmpty
     private String clientSecret;
+
+    private long eventCacheMaximumSize = 10_000;
+
+    private Duration eventCacheTimeToLive = Duration.ofMinutes(1);
+
+    private int tokenStoreMaximumSize = 100_000;
+
+    private long accountCacheMaximumSize = 10_000;
+
+    private Duration accountCacheTimeToLive = Duration.ofMinutes(5);
+
+    private int passwordEncoderStrength = 10;
+
+    private int passwordEncoderThreads = Runtime.getRuntime().availableProcessors();
+
+    private int passwordEncoderQueueCapacity = 64;
+
+    private Duration passwordEncoderTimeout = Duration.ofSeconds(5);
+
+    private boolean eventBulkheadEnabled = true;
+
+    private int eventBulkheadQueueCapacity = 100;
+
+    private boolean eventConcurrencyLimitEnabled = true;
+
+    private Duration eventReadTimeout = Duration.ofSeconds(2);
+
+    private Duration eventWriteTimeout = Duration.ofSeconds(5);
+
+    private int eventExportMaxConcurrency = 2;
+
+    private Duration eventExportTimeout = Duration.ofMinutes(30);
+
+    private int eventValidationParallelism = Runtime.getRuntime().availableProcessors();
+
+    private int eventValidationMaxConcurrency = 4;
+
+    private Duration eventValidationTimeout = Duration.ofMinutes(10);
+
+    private int enrollmentSeatBlocks = 16;
+
+    private boolean rateLimitEnabled = true;
+
+    private long rateLimitMaximumKeys = 100_000;
+
+    private double apiReadRateLimit = 50;
+
+    private int apiReadRateLimitBurst = 100;
+
+    private double apiWriteRateLimit = 10;
+
+    private int apiWriteRateLimitBurst = 20;
+
+    private double tokenRateLimit = 1;
+
+    private int tokenRateLimitBurst = 10;
 }
@@ -1,15 +1,27 @@
 package com.example.restexample.configs;
 
 import com.example.restexample.accounts.AccountService;
+import com.example.restexample.accounts.PasswordEncodingRejectedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.exceptions.OAuth2Exception;
 import org.springframework.security.oauth2.config.annotation.configurers.ClientDetailsServiceConfigurer;
 import org.springframework.security.oauth2.config.annotation.web.configuration.AuthorizationServerConfigurerAdapter;
 import org.springframework.security.oauth2.config.annotation.web.configuration.EnableAuthorizationServer;
 import org.springframework.security.oauth2.config.annotation.web.configurers.AuthorizationServerEndpointsConfigurer;
 import org.springframework.security.oauth2.config.annotation.web.configurers.AuthorizationServerSecurityConfigurer;
+import org.springframework.security.oauth2.provider.error.DefaultWebResponseExceptionTranslator;
+import org.springframework.security.oauth2.provider.error.OAuth2AuthenticationEntryPoint;
+import org.springframework.security.oauth2.provider.TokenGranter;
+import org.springframework.security.oauth2.provider.error.WebResponseExceptionTranslator;
 import org.springframework.security.oauth2.provider.token.TokenStore;
 
 @Configuration
@@ -31,9 +43,19 @@ public class AuthServerConfig extends AuthorizationServerConfigurerAdapter {
     @Autowired
     AppProperties appProperties;
 
+    @Autowired
+    MeterRegistry meterRegistry;
+
     @Override
     public void configure(AuthorizationServerSecurityConfigurer security) throws Exception {
-        security.passwordEncoder(passwordEncoder);
+        // 클라이언트 인증도 같은 PasswordEncoder 를 쓰므로 해시 작업이 밀리면 401 대신 503 으로 응답한다.
+        OAuth2AuthenticationEntryPoint authenticationEntryPoint = new OAuth2AuthenticationEntryPoint();
+        authenticationEntryPoint.setTypeName("Basic");
+        authenticationEntryPoint.setRealmName("oauth2/client");
+        authenticationEntryPoint.setExceptionTranslator(exceptionTranslator());
+
+        security.passwordEncoder(passwordEncoder)
+                .authenticationEntryPoint(authenticationEntryPoint);
     }
 
     @Override
@@ -51,6 +73,52 @@ public class AuthServerConfig extends AuthorizationServerConfigurerAdapter {
     public void configure(AuthorizationServerEndpointsConfigurer endpoints) throws Exception {
         endpoints.authenticationManager(authenticationManager)
                 .userDetailsService(accountService)
-                .tokenStore(tokenStore);
+                .tokenStore(tokenStore)
+                .exceptionTranslator(exceptionTranslator());
+        endpoints.tokenGranter(timed(endpoints.getTokenGranter()));
+    }
+
+    // 토큰 발급에는 비밀번호 해시 검사가 들어가므로 발급 시간을 따로 잰다.
+    private TokenGranter timed(TokenGranter tokenGranter) {
+        return (grantType, tokenRequest) -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "failure";
+            try {
+                OAuth2AccessToken token = tokenGranter.grant(grantType, tokenRequest);
+                outcome = token == null ? "unsupported" : "success";
+                return token;
+            } finally {
+                sample.stop(Timer.builder("oauth2.token.issue")
+                        .tag("grant_type", "password".equals(grantType) || "refresh_token".equals(grantType) ? grantType : "other")
+                        .tag("outcome", outcome)
+                        .register(meterRegistry));
+            }
+        };
+    }
+
+    private WebResponseExceptionTranslator<OAuth2Exception> exceptionTranslator() {
+        return new DefaultWebResponseExceptionTranslator() {
+            @Override
+            public ResponseEntity<OAuth2Exception> translate(Exception e) throws Exception {
+                if (!(e instanceof PasswordEncodingRejectedException)) {
+                    return super.translate(e);
+                }
+
+                OAuth2Exception exception = new OAuth2Exception(e.getMessage()) {
+                    @Override
+                    public String getOAuth2ErrorCode() {
+                        return "temporarily_unavailable";
+                    }
+
+                    @Override
+                    public int getHttpErrorCode() {
+                        return HttpStatus.SERVICE_UNAVAILABLE.value();
+                    }
+                };
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(exception);
+            }
+        };
     }
 }
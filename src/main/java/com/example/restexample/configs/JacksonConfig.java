@@ -0,0 +1,62 @@
+package com.example.restexample.configs;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.hateoas.mediatype.hal.HalMediaTypeConfiguration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * HAL 응답을 JSON 외에 Smile 과 CBOR 로도 쓴다. Accept 헤더로 고른다.
+ * 사람이 읽지 않는 내부 서비스는 텍스트 JSON 을 만들고 파싱하는 비용과 본문 크기를 줄일 수 있다.
+ */
+@Configuration
+public class JacksonConfig implements WebMvcConfigurer {
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+    private final HalMediaTypeConfiguration halMediaTypeConfiguration;
+
+    public JacksonConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder,
+                         HalMediaTypeConfiguration halMediaTypeConfiguration) {
+        this.objectMapperBuilder = objectMapperBuilder;
+        this.halMediaTypeConfiguration = halMediaTypeConfiguration;
+    }
+
+    /**
+     * 스프링 부트가 모든 ObjectMapper 에 붙인다.
+     * getter 호출과 setter 호출을 리플렉션 대신 생성한 바이트코드로 해서 Event 처럼 속성이 많은 객체를 빨리 쓴다.
+     */
+    @Bean
+    public Module afterburnerModule() {
+        return new AfterburnerModule();
+    }
+
+    /**
+     * 스프링 MVC 는 클래스패스에 Smile 과 CBOR 가 있으면 기본 ObjectMapper 로 컨버터를 먼저 넣는다.
+     * 그 컨버터는 HAL 링크와 스프링 부트 설정(모듈, @JsonComponent, spring.jackson.*)을 모르므로 바꿔 끼운다.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                || converter instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MappingJackson2SmileHttpMessageConverter(halObjectMapper(new SmileFactory())));
+        converters.add(new MappingJackson2CborHttpMessageConverter(halObjectMapper(new CBORFactory())));
+    }
+
+    // Jackson2ObjectMapperBuilder.smile() 와 cbor() 는 설정이 빈 새 빌더를 만드는 static 메서드라서 factory() 로 바꾼다.
+    private ObjectMapper halObjectMapper(JsonFactory jsonFactory) {
+        ObjectMapper objectMapper = this.objectMapperBuilder.getObject().factory(jsonFactory).build();
+        return this.halMediaTypeConfiguration.configureObjectMapper(objectMapper);
+    }
+}
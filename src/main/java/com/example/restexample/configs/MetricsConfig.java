@@ -0,0 +1,89 @@
+package com.example.restexample.configs;
+
+import com.example.restexample.common.TimedHttpMessageConverter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 시간이 어디에 쓰이는지 나눠 보기 위한 타이머.
+ * 엔드포인트별 시간은 스프링 부트가 http.server.requests 로 기록하고, 여기서는 그 안의 단계를 잰다.
+ * 히스토그램 설정은 application.properties 에 있다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // @Timed 를 붙인 메서드(EventValidator, EventMapper)를 잰다.
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * 모든 리포지토리 메서드 호출 시간을 spring.data.repository.invocations 로 기록한다.
+     * 리포지토리가 만들어지기 전에 리스너를 붙여야 하므로 BeanPostProcessor 로 등록한다.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        RepositoryMethodInvocationListener listener = invocation -> {
+            Throwable error = invocation.getResult().getError();
+            Timer.builder("spring.data.repository.invocations")
+                    .tag("repository", invocation.getRepositoryInterface().getSimpleName())
+                    .tag("method", invocation.getMethod().getName())
+                    .tag("state", invocation.getResult().getState().name())
+                    .tag("exception", error == null ? "None" : error.getClass().getSimpleName())
+                    .register(meterRegistry.getObject())
+                    .record(invocation.getDuration(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        };
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport) {
+                    ((RepositoryFactoryBeanSupport<?, ?, ?>) bean)
+                            .addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(listener));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * HAL 응답을 쓰는 시간을 hal.serialization 으로 기록한다.
+     * 컨버터 목록이 다 채워진 뒤, 핸들러 어댑터가 초기화되기 전에 HAL 컨버터를 감싼다.
+     */
+    @Bean
+    @SuppressWarnings("unchecked")
+    public static BeanPostProcessor halSerializationMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RequestMappingHandlerAdapter) {
+                    List<HttpMessageConverter<?>> converters = ((RequestMappingHandlerAdapter) bean).getMessageConverters();
+                    for (int i = 0; i < converters.size(); i++) {
+                        HttpMessageConverter<?> converter = converters.get(i);
+                        if (converter instanceof GenericHttpMessageConverter
+                                && converter.getSupportedMediaTypes().contains(MediaTypes.HAL_JSON)) {
+                            converters.set(i, new TimedHttpMessageConverter(
+                                    (GenericHttpMessageConverter<Object>) converter, "hal.serialization", meterRegistry));
+                        }
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+}
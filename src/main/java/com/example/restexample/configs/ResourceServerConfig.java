@@ -23,8 +23,14 @@ public class ResourceServerConfig extends ResourceServerConfigurerAdapter {
             .anonymous()
                 .and()
             .authorizeRequests()
+                // 내보내기는 커넥션을 오래 붙잡으므로 익명으로 열지 않는다.
+                .mvcMatchers(HttpMethod.GET, "/api/events/export")
+                    .authenticated()
                 .mvcMatchers(HttpMethod.GET, "/api/**")
                     .permitAll()
+                // 지표에는 내부 구성이 드러나므로 헬스 체크만 익명으로 연다.
+                .mvcMatchers(HttpMethod.GET, "/actuator/health")
+                    .permitAll()
                 .anyRequest()
                     .authenticated()
                 .and()
@@ -1,6 +1,7 @@
 package com.example.restexample.configs;
 
 import com.example.restexample.accounts.AccountService;
+import com.example.restexample.tokens.BoundedTokenStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
@@ -11,8 +12,6 @@ import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.oauth2.provider.token.TokenStore;
-import org.springframework.security.oauth2.provider.token.store.InMemoryTokenStore;
 
 @Configuration
 @EnableWebSecurity
@@ -23,9 +22,10 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     @Autowired
     PasswordEncoder passwordEncoder;
 
+    // 메트릭 레지스트리가 이 빈을 일찍 찾으므로 SecurityConfig 에 의존하지 않도록 static 으로 둔다.
     @Bean
-    public TokenStore tokenStore() {
-        return new InMemoryTokenStore();
+    public static BoundedTokenStore tokenStore(AppProperties appProperties) {
+        return new BoundedTokenStore(appProperties.getTokenStoreMaximumSize());
     }
 
     @Bean
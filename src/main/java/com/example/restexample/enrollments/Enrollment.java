@@ -0,0 +1,33 @@
+package com.example.restexample.enrollments;
+
+import com.example.restexample.accounts.Account;
+import com.example.restexample.accounts.AccountSerializer;
+import com.example.restexample.events.Event;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+// 한 계정은 한 이벤트에 한 번만 등록한다. 동시에 두 번 등록하면 나중에 커밋하는 쪽이 이 제약에 걸린다.
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_enrollment_event_account", columnNames = {"event_id", "account_id"}))
+@Getter @Setter @EqualsAndHashCode(of = "id")
+@Builder @NoArgsConstructor @AllArgsConstructor
+public class Enrollment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollment_seq")
+    @SequenceGenerator(name = "enrollment_seq", sequenceName = "enrollment_seq", allocationSize = 50)
+    private Integer id;
+
+    // 응답에는 event 링크로 대신한다.
+    @ManyToOne(fetch = FetchType.LAZY) @JsonIgnore
+    private Event event;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JsonSerialize(using = AccountSerializer.class)
+    private Account account;
+
+    private LocalDateTime enrolledAt;
+}
@@ -0,0 +1,79 @@
+package com.example.restexample.enrollments;
+
+import com.example.restexample.accounts.Account;
+import com.example.restexample.accounts.CurrentUser;
+import com.example.restexample.common.BinaryMediaTypes;
+import com.example.restexample.configs.AppProperties;
+import com.example.restexample.events.EventBulkhead;
+import com.example.restexample.events.EventLinks;
+import com.example.restexample.index.IndexController;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+@Controller
+@RequestMapping(value = "/api/events/{eventId}/enrollments",
+        produces = {MediaTypes.HAL_JSON_VALUE, BinaryMediaTypes.SMILE_VALUE, BinaryMediaTypes.CBOR_VALUE})
+public class EnrollmentController {
+    private static final Link CREATE_PROFILE = Link.of("/docs/index.html#resources-enrollments-create").withRel("profile");
+
+    private final EnrollmentService enrollmentService;
+    private final EventBulkhead eventBulkhead;
+    private final Duration writeTimeout;
+
+    public EnrollmentController(EnrollmentService enrollmentService, EventBulkhead eventBulkhead,
+                                AppProperties appProperties) {
+        this.enrollmentService = enrollmentService;
+        this.eventBulkhead = eventBulkhead;
+        this.writeTimeout = appProperties.getEventWriteTimeout();
+    }
+
+    // 등록이 몰려도 이벤트 API 와 같은 스레드와 대기열을 써서 커넥션 풀을 넘어서지 않는다.
+    @PostMapping
+    public CompletableFuture<ResponseEntity<?>> createEnrollment(@PathVariable Integer eventId,
+                                                                 @CurrentUser Account currentUser) {
+        return this.eventBulkhead.supply(this.writeTimeout, () -> {
+            Enrollment enrollment;
+            try {
+                Optional<Enrollment> optionalEnrollment = this.enrollmentService.enroll(eventId, currentUser);
+                if (optionalEnrollment.isEmpty()) {
+                    return ResponseEntity.notFound().build();
+                }
+                enrollment = optionalEnrollment.get();
+            } catch (EnrollmentRejectedException e) {
+                Errors errors = new MapBindingResult(new HashMap<>(), "enrollment");
+                errors.reject(e.getCode(), e.getMessage());
+                return conflict(errors);
+            }
+
+            EntityModel<Enrollment> entityModel = EntityModel.of(enrollment);
+            entityModel.add(EventLinks.current().event(eventId).withRel("event"));
+            entityModel.add(CREATE_PROFILE);
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(entityModel);
+        });
+    }
+
+    private ResponseEntity<EntityModel<Errors>> conflict(Errors errors) {
+        EntityModel<Errors> entityModel = EntityModel.of(errors);
+        entityModel.add(linkTo(methodOn(IndexController.class).index()).withRel("index"));
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(entityModel);
+    }
+}
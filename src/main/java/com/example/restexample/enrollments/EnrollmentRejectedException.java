@@ -0,0 +1,18 @@
+package com.example.restexample.enrollments;
+
+import lombok.Getter;
+
+/**
+ * 이벤트가 있지만 등록할 수 없는 경우. code 는 에러 응답의 code 로 그대로 쓴다.
+ */
+@Getter
+public class EnrollmentRejectedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final String code;
+
+    public EnrollmentRejectedException(String code, String message) {
+        super(message);
+        this.code = code;
+    }
+}
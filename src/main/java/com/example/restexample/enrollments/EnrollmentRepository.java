@@ -0,0 +1,11 @@
+package com.example.restexample.enrollments;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Integer> {
+    boolean existsByEventIdAndAccountId(Integer eventId, Integer accountId);
+
+    long countByEventId(Integer eventId);
+}
@@ -0,0 +1,185 @@
+package com.example.restexample.enrollments;
+
+import com.example.restexample.accounts.Account;
+import com.example.restexample.configs.AppProperties;
+import com.example.restexample.events.Event;
+import com.example.restexample.events.EventRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 이벤트의 limitOfEnrollment 를 넘지 않게 등록한다.
+ * 좌석은 {@link SeatBlock} 여러 개에 나눠 두고, 등록은 남은 좌석이 있는 묶음 하나를 골라 조건부 UPDATE 로 차지한다.
+ * 등록 트랜잭션은 묶음 한 행만 잠그므로 같은 이벤트에 몰린 등록이 묶음 수만큼 나뉘어 진행된다.
+ * limitOfEnrollment 가 0 이면 인원 제한이 없다. 그동안의 등록은 좌석을 차지하지 않으므로 묶음을 지우고,
+ * 다시 한도가 생기면 묶음을 만들 때 이미 한 등록 수만큼 좌석을 채워 둔다.
+ */
+@Service
+public class EnrollmentService {
+    private final EventRepository eventRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final SeatBlockRepository seatBlockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int seatBlocks;
+
+    public EnrollmentService(EventRepository eventRepository, EnrollmentRepository enrollmentRepository,
+                             SeatBlockRepository seatBlockRepository, PlatformTransactionManager transactionManager,
+                             AppProperties appProperties) {
+        this.eventRepository = eventRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.seatBlockRepository = seatBlockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.seatBlocks = appProperties.getEnrollmentSeatBlocks();
+    }
+
+    /**
+     * @return 만든 등록. 이벤트가 없으면 빈 값
+     * @throws EnrollmentRejectedException 등록 기간이 아니거나, 이미 등록했거나, 좌석이 없는 경우
+     */
+    public Optional<Enrollment> enroll(Integer eventId, Account account) {
+        // 한도가 바뀌면 바로 묶음에 반영해야 하므로 캐시가 아닌 DB 에서 읽는다.
+        Optional<Event> optionalEvent = this.eventRepository.findById(eventId);
+        if (optionalEvent.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Event event = optionalEvent.get();
+        LocalDateTime now = LocalDateTime.now();
+        if (!event.isEnrollmentOpen(now)) {
+            throw new EnrollmentRejectedException("enrollmentClosed", "Enrollment is not open");
+        }
+
+        boolean limited = event.getLimitOfEnrollment() > 0;
+        if (!limited) {
+            dropBlocks(event);
+        }
+        List<Integer> openBlocks = limited ? openBlocks(event) : List.of();
+        if (limited && openBlocks.isEmpty()) {
+            throw soldOut();
+        }
+
+        try {
+            return Optional.of(this.transactionTemplate.execute(status -> {
+                if (this.enrollmentRepository.existsByEventIdAndAccountId(eventId, account.getId())) {
+                    throw alreadyEnrolled();
+                }
+                // 좌석을 못 잡으면 예외로 트랜잭션을 되돌린다.
+                if (limited && !takeSeat(openBlocks)) {
+                    throw soldOut();
+                }
+                return this.enrollmentRepository.save(Enrollment.builder()
+                        .event(event)
+                        .account(account)
+                        .enrolledAt(now)
+                        .build());
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // 같은 계정의 등록이 동시에 들어와 나중에 커밋한 쪽이 유니크 제약에 걸렸다. 잡은 좌석도 함께 되돌려졌다.
+            throw alreadyEnrolled();
+        }
+    }
+
+    // 아무 묶음에서나 시작해 돌아가며 시도한다. 모두 같은 묶음부터 시도하면 그 행에 다시 줄을 선다.
+    private boolean takeSeat(List<Integer> openBlocks) {
+        int start = ThreadLocalRandom.current().nextInt(openBlocks.size());
+        for (int i = 0; i < openBlocks.size(); i++) {
+            if (this.seatBlockRepository.takeSeat(openBlocks.get((start + i) % openBlocks.size())) == 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 남은 좌석이 있는 묶음의 id. 첫 등록이면 묶음을 만들고, 한도가 바뀌었으면 묶음의 capacity 를 다시 나눈다.
+     */
+    private List<Integer> openBlocks(Event event) {
+        List<SeatBlock> blocks = this.seatBlockRepository.findByEventIdOrderByBlockIndex(event.getId());
+        if (blocks.isEmpty()) {
+            createBlocks(event);
+            blocks = this.seatBlockRepository.findByEventIdOrderByBlockIndex(event.getId());
+        }
+
+        int capacity = blocks.stream().mapToInt(SeatBlock::getCapacity).sum();
+        int taken = blocks.stream().mapToInt(SeatBlock::getTaken).sum();
+        // 줄어든 한도보다 이미 많이 등록했으면 capacity 는 taken 과 같다.
+        if (capacity != Math.max(event.getLimitOfEnrollment(), taken)) {
+            blocks = resizeBlocks(event);
+        }
+
+        return blocks.stream()
+                .filter(SeatBlock::hasSeat)
+                .map(SeatBlock::getId)
+                .collect(Collectors.toList());
+    }
+
+    // 이벤트 행을 잠가서 첫 등록이 몰려도 묶음은 한 번만 만든다. 이후 등록은 이벤트 행을 잠그지 않는다.
+    // 한도가 없던 동안 한 등록은 좌석 없이 들어왔으므로 그 수만큼 taken 을 채워서 만든다.
+    private void createBlocks(Event event) {
+        int limit = event.getLimitOfEnrollment();
+        this.transactionTemplate.executeWithoutResult(status -> {
+            this.eventRepository.findByIdForUpdate(event.getId());
+            if (this.seatBlockRepository.existsByEventId(event.getId())) {
+                return;
+            }
+            int enrolled = (int) this.enrollmentRepository.countByEventId(event.getId());
+            int free = Math.max(0, limit - enrolled);
+            this.seatBlockRepository.saveAll(IntStream.range(0, this.seatBlocks)
+                    .mapToObj(index -> {
+                        int taken = share(enrolled, this.seatBlocks, index);
+                        return SeatBlock.builder()
+                                .event(event)
+                                .blockIndex(index)
+                                .capacity(taken + share(free, this.seatBlocks, index))
+                                .taken(taken)
+                                .build();
+                    })
+                    .collect(Collectors.toList()));
+        });
+    }
+
+    // 한도가 없어졌으면 묶음을 지운다. 남겨 두면 다시 한도가 생겼을 때 좌석 없이 들어온 등록을 세지 못한다.
+    private void dropBlocks(Event event) {
+        if (!this.seatBlockRepository.existsByEventId(event.getId())) {
+            return;
+        }
+        this.transactionTemplate.executeWithoutResult(status -> {
+            this.eventRepository.findByIdForUpdate(event.getId());
+            this.seatBlockRepository.deleteByEventId(event.getId());
+        });
+    }
+
+    // 묶음을 모두 잠근 뒤 남은 좌석을 고르게 다시 나눈다. 한도를 바꿀 때만 일어나므로 잠금이 길어도 괜찮다.
+    private List<SeatBlock> resizeBlocks(Event event) {
+        return this.transactionTemplate.execute(status -> {
+            List<SeatBlock> blocks = this.seatBlockRepository.findByEventIdForUpdate(event.getId());
+            int free = Math.max(0, event.getLimitOfEnrollment() - blocks.stream().mapToInt(SeatBlock::getTaken).sum());
+            for (SeatBlock block : blocks) {
+                block.setCapacity(block.getTaken() + share(free, blocks.size(), block.getBlockIndex()));
+            }
+            return blocks;
+        });
+    }
+
+    // seats 를 blocks 개로 나눈 index 번째 몫. 나머지는 앞쪽 묶음에 하나씩 더 준다.
+    private static int share(int seats, int blocks, int index) {
+        return seats / blocks + (index < seats % blocks ? 1 : 0);
+    }
+
+    private static EnrollmentRejectedException alreadyEnrolled() {
+        return new EnrollmentRejectedException("alreadyEnrolled", "Already enrolled in this event");
+    }
+
+    private static EnrollmentRejectedException soldOut() {
+        return new EnrollmentRejectedException("soldOut", "No seats left");
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.restexample.enrollments;
+
+import com.example.restexample.events.Event;
+import lombok.*;
+
+import javax.persistence.*;
+
+/**
+ * 이벤트의 좌석을 나눠 담은 묶음. 등록은 묶음 하나의 taken 만 올리므로
+ * 한 이벤트에 몰린 등록이 한 행의 잠금을 두고 줄 서지 않고 묶음 수만큼 나뉜다.
+ * 모든 묶음의 capacity 합이 limitOfEnrollment 이고 taken 은 capacity 를 넘지 않는다.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_seat_block_event_index", columnNames = {"event_id", "blockIndex"}))
+@Getter @Setter @EqualsAndHashCode(of = "id")
+@Builder @NoArgsConstructor @AllArgsConstructor
+public class SeatBlock {
+    @Id
+    @GeneratedValue
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Event event;
+
+    private int blockIndex;
+    private int capacity;
+    private int taken;
+
+    public boolean hasSeat() {
+        return this.taken < this.capacity;
+    }
+}
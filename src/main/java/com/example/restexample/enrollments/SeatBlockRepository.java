@@ -0,0 +1,37 @@
+package com.example.restexample.enrollments;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+
+@Repository
+public interface SeatBlockRepository extends JpaRepository<SeatBlock, Integer> {
+    @Transactional(readOnly = true)
+    List<SeatBlock> findByEventIdOrderByBlockIndex(Integer eventId);
+
+    boolean existsByEventId(Integer eventId);
+
+    @Modifying
+    @Query("delete from SeatBlock b where b.event.id = :eventId")
+    int deleteByEventId(@Param("eventId") Integer eventId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from SeatBlock b where b.event.id = :eventId order by b.blockIndex")
+    List<SeatBlock> findByEventIdForUpdate(@Param("eventId") Integer eventId);
+
+    /**
+     * 남은 좌석이 있으면 하나 차지한다. 조건과 증가를 한 문장에서 하므로 읽고 쓰는 사이에 다른 등록이 끼어들 수 없다.
+     *
+     * @return 좌석을 차지했으면 1, 묶음이 찼으면 0
+     */
+    @Modifying
+    @Query("update SeatBlock b set b.taken = b.taken + 1 where b.id = :id and b.taken < b.capacity")
+    int takeSeat(@Param("id") Integer id);
+}
@@ -2,9 +2,9 @@ package com.example.restexample.events;
 
 import com.example.restexample.accounts.Account;
 import com.example.restexample.accounts.AccountSerializer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.*;
-import org.springframework.hateoas.RepresentationModel;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -15,11 +15,28 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @EqualsAndHashCode(of="id")
+// 링크는 EventEntityModel 에서 붙인다. 엔티티와 영속성 컨텍스트에는 링크 목록을 두지 않는다.
 @Entity
-public class Event extends RepresentationModel<Event> {
+// 목록 필터(EventFilter)와 정렬에 맞춘 인덱스. 같은 값으로 거르는 컬럼을 앞에, 범위와 정렬에 쓰는 시각을 뒤에 둔다.
+@Table(indexes = {
+        @Index(name = "idx_event_begin_event", columnList = "beginEventDateTime, id"),
+        @Index(name = "idx_event_begin_enrollment", columnList = "beginEnrollmentDateTime"),
+        @Index(name = "idx_event_status_begin_event", columnList = "eventStatus, beginEventDateTime"),
+        @Index(name = "idx_event_manager_begin_event", columnList = "manager_id, beginEventDateTime"),
+        @Index(name = "idx_event_free_offline_begin_event", columnList = "free, offline, beginEventDateTime")
+})
+public class Event {
 
-    @Id @GeneratedValue
+    // pooled 옵티마이저로 시퀀스를 50 개씩 한 번에 가져와서 insert 마다 시퀀스를 읽지 않는다.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_seq")
+    @SequenceGenerator(name = "event_seq", sequenceName = "event_seq", allocationSize = 50)
     private Integer id;
+
+    // 수정될 때마다 증가하며 ETag 와 낙관적 잠금에 쓴다.
+    @Version @JsonIgnore
+    private Long version;
+
     private String name;
     private String description;
     private LocalDateTime beginEnrollmentDateTime;
@@ -36,7 +53,8 @@ public class Event extends RepresentationModel<Event> {
     @Enumerated(EnumType.STRING)
     private EventStatus eventStatus = EventStatus.DRAFT;
 
-    @ManyToOne
+    // 응답에는 manager 의 id 만 쓰므로 Account 와 roles 는 읽지 않는다.
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonSerialize(using = AccountSerializer.class)
     private Account manager;
 
@@ -44,5 +62,33 @@ public class Event extends RepresentationModel<Event> {
         this.free = (basePrice == 0 && maxPrice == 0);
         this.offline = !(this.location == null || this.location.isBlank());
     }
+
+    /**
+     * DRAFT 인 이벤트를 공개한다. 이후 상태는 {@link EventStatusScheduler} 가 시각에 맞춰 옮긴다.
+     *
+     * @return 이미 공개된 이벤트면 false
+     */
+    public boolean publish() {
+        if (this.eventStatus != EventStatus.DRAFT) {
+            return false;
+        }
+        this.eventStatus = EventStatus.PUBLISHED;
+        return true;
+    }
+
+    /**
+     * 공개된 이벤트이고 now 가 등록 시작 이후(포함), 등록 마감 전이면 등록할 수 있다.
+     * 상태 스케줄러는 분 단위로 돌기 때문에 상태 대신 시각으로 판단한다.
+     */
+    public boolean isEnrollmentOpen(LocalDateTime now) {
+        return this.eventStatus != EventStatus.DRAFT
+                && this.beginEnrollmentDateTime != null && this.closeEnrollmentDateTime != null
+                && !now.isBefore(this.beginEnrollmentDateTime) && now.isBefore(this.closeEnrollmentDateTime);
+    }
+
+    public boolean isManagedBy(Account account) {
+        // 프록시를 초기화하지 않도록 equals 대신 id 를 비교한다.
+        return this.manager != null && account != null && this.manager.getId().equals(account.getId());
+    }
 }
 
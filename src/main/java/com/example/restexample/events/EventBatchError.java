@@ -0,0 +1,23 @@
+package com.example.restexample.events;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.Getter;
+import org.springframework.hateoas.server.core.Relation;
+import org.springframework.validation.Errors;
+
+/**
+ * 일괄 생성 요청에서 검증에 실패한 항목. index 는 요청 배열에서의 위치다.
+ */
+@Getter
+@Relation(collectionRelation = "errors")
+public class EventBatchError {
+    private final int index;
+
+    @JsonUnwrapped
+    private final Errors errors;
+
+    public EventBatchError(int index, Errors errors) {
+        this.index = index;
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.restexample.events;
+
+import com.example.restexample.configs.AppProperties;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 이벤트를 저장하지 않고 검증만 한다. 입력 값 검증(Bean Validation)을 통과한 항목만 {@link EventValidator} 로 검사한다.
+ * 많은 이벤트는 JSON 배열이나 NDJSON 을 읽는 대로 묶음으로 나눠 전용 ForkJoinPool 에서 검증하고,
+ * 잘못된 항목만 요청에서의 위치(index)와 함께 한 줄씩 NDJSON 으로 쓴다.
+ * 검증 중인 묶음 수를 제한하므로 입력 크기와 관계없이 메모리 사용량이 일정하다.
+ */
+@Component
+public class EventBatchValidator implements DisposableBean {
+    static final int CHUNK_SIZE = 256;
+
+    private final EventValidator eventValidator;
+    private final SpringValidatorAdapter beanValidator;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final ForkJoinPool forkJoinPool;
+    private final int maxChunksInFlight;
+
+    public EventBatchValidator(EventValidator eventValidator, Validator beanValidator, ObjectMapper objectMapper,
+                               AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.eventValidator = eventValidator;
+        this.beanValidator = new SpringValidatorAdapter(beanValidator);
+        this.reader = objectMapper.readerFor(EventDto.class);
+        this.writer = objectMapper.writerFor(EventBatchError.class);
+
+        int parallelism = appProperties.getEventValidationParallelism();
+        this.forkJoinPool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("event-validation-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        // 스레드마다 하나를 검증하는 동안 하나를 더 읽어 둔다.
+        this.maxChunksInFlight = parallelism * 2;
+
+        new ExecutorServiceMetrics(this.forkJoinPool, "events.validation", Tags.empty())
+                .bindTo(meterRegistry);
+    }
+
+    /**
+     * 이벤트 하나를 검증한다. 돌려준 Errors 에 에러가 없으면 올바른 이벤트다.
+     */
+    public Errors validate(EventDto eventDto) {
+        if (eventDto == null) {
+            Errors errors = new MapBindingResult(new HashMap<>(), "eventDto");
+            errors.reject("emptyEvent", "Event is empty");
+            return errors;
+        }
+
+        Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+        this.beanValidator.validate(eventDto, errors);
+        if (!errors.hasErrors()) {
+            this.eventValidator.validate(eventDto, errors);
+        }
+        return errors;
+    }
+
+    /**
+     * JSON 배열이나 NDJSON 으로 온 이벤트를 검증하고, 잘못된 항목을 요청 순서대로 outputStream 에 NDJSON 으로 쓴다.
+     * 한 항목의 값을 읽지 못하면 그 항목의 에러로 쓰고 계속하지만, JSON 문법이 깨지면 그 위치의 에러를 쓰고 멈춘다.
+     * 요청 시간이 지나 취소되면 남은 항목을 읽지 않고 검증 중인 묶음도 취소한다.
+     */
+    public void validate(InputStream inputStream, OutputStream outputStream, BooleanSupplier cancelled) throws IOException {
+        ArrayDeque<ForkJoinTask<List<EventBatchError>>> inFlight = new ArrayDeque<>();
+        try (MappingIterator<EventDto> iterator = this.reader.readValues(inputStream);
+             JsonGenerator generator = this.writer.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            int index = 0;
+            int start = 0;
+            List<Object> chunk = new ArrayList<>(CHUNK_SIZE);
+            Errors syntaxError = null;
+            while (true) {
+                if (cancelled.getAsBoolean()) {
+                    return;
+                }
+                boolean empty = false;
+                try {
+                    if (!iterator.hasNextValue()) {
+                        break;
+                    }
+                    // MappingIterator 는 null 항목을 읽지 못하고 예외를 던지므로 미리 확인해서 빈 항목으로 검증한다.
+                    empty = iterator.getParser().hasToken(JsonToken.VALUE_NULL);
+                    chunk.add(iterator.nextValue());
+                } catch (JsonParseException e) {
+                    syntaxError = readError("wrongJson", e);
+                    break;
+                } catch (JsonMappingException e) {
+                    // 다음 hasNextValue() 가 이 항목의 끝까지 건너뛴다.
+                    chunk.add(empty ? null : readError("wrongValue", e));
+                }
+                index++;
+
+                if (chunk.size() == CHUNK_SIZE) {
+                    if (inFlight.size() == this.maxChunksInFlight) {
+                        write(generator, inFlight.poll().join());
+                    }
+                    inFlight.add(submit(start, chunk));
+                    start = index;
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                inFlight.add(submit(start, chunk));
+            }
+            while (!inFlight.isEmpty()) {
+                write(generator, inFlight.poll().join());
+            }
+            if (syntaxError != null) {
+                write(generator, List.of(new EventBatchError(index, syntaxError)));
+            }
+        } finally {
+            // 클라이언트가 연결을 끊어 쓰지 못했으면 남은 검증도 필요 없다.
+            inFlight.forEach(task -> task.cancel(false));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        this.forkJoinPool.shutdown();
+    }
+
+    private ForkJoinTask<List<EventBatchError>> submit(int start, List<Object> chunk) {
+        return this.forkJoinPool.submit(() -> validate(start, chunk));
+    }
+
+    // 읽지 못한 항목은 검증할 것 없이 읽을 때 난 에러를 그대로 돌려준다.
+    private List<EventBatchError> validate(int start, List<Object> chunk) {
+        List<EventBatchError> batchErrors = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Object item = chunk.get(i);
+            Errors errors = item instanceof Errors ? (Errors) item : validate((EventDto) item);
+            if (errors.hasErrors()) {
+                batchErrors.add(new EventBatchError(start + i, errors));
+            }
+        }
+        return batchErrors;
+    }
+
+    // 묶음마다 내보내서 클라이언트가 검증이 끝난 결과부터 받게 한다.
+    private void write(JsonGenerator generator, List<EventBatchError> batchErrors) throws IOException {
+        if (batchErrors.isEmpty()) {
+            return;
+        }
+        for (EventBatchError batchError : batchErrors) {
+            this.writer.writeValue(generator, batchError);
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    private static Errors readError(String code, JsonProcessingException e) {
+        Errors errors = new MapBindingResult(new HashMap<>(), "eventDto");
+        errors.reject(code, e.getOriginalMessage());
+        return errors;
+    }
+}
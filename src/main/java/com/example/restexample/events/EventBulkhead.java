@@ -0,0 +1,183 @@
+package com.example.restexample.events;
+
+import com.example.restexample.configs.AppProperties;
+import com.example.restexample.throttling.ConcurrencyLimiter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 이벤트 API 의 DB 작업을 Tomcat 스레드가 아닌 전용 스레드에서 실행한다.
+ * 스레드 수는 커넥션 풀 크기와 같다. 더 많아 봐야 커넥션을 기다릴 뿐이다.
+ * DB 가 느려져 대기열이 차거나 대기열에서 시간 안에 실행을 시작하지 못하면 기다리지 않고 503 으로 응답한다.
+ * 대기열에 넣기 전에 응답 시간으로 정한 동시 요청 한도({@link ConcurrencyLimiter})도 검사해서, 대기열이 차기 전에 넘치는 요청을 거절한다.
+ */
+@Component
+public class EventBulkhead implements DisposableBean {
+    private final ThreadPoolTaskExecutor threadPoolTaskExecutor;
+    private final Executor executor;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final Counter limitRejections;
+    private final Counter queueRejections;
+
+    public EventBulkhead(AppProperties appProperties, DataSource dataSource, MeterRegistry meterRegistry) {
+        if (!appProperties.isEventBulkheadEnabled()) {
+            // 요청 스레드에서 바로 실행한다.
+            this.threadPoolTaskExecutor = null;
+            this.executor = Runnable::run;
+            this.concurrencyLimiter = null;
+            this.limitRejections = null;
+            this.queueRejections = null;
+            return;
+        }
+
+        int threads = dataSource instanceof HikariDataSource
+                ? ((HikariDataSource) dataSource).getMaximumPoolSize()
+                : Runtime.getRuntime().availableProcessors();
+
+        this.threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        this.threadPoolTaskExecutor.setCorePoolSize(threads);
+        this.threadPoolTaskExecutor.setMaxPoolSize(threads);
+        this.threadPoolTaskExecutor.setQueueCapacity(appProperties.getEventBulkheadQueueCapacity());
+        this.threadPoolTaskExecutor.setThreadNamePrefix("event-db-");
+        this.threadPoolTaskExecutor.setDaemon(true);
+        // linkTo() 와 ServletUriComponentsBuilder 가 현재 요청으로 URI 를 만들기 때문에 요청을 작업 스레드로 넘긴다.
+        // 요청 스레드의 RequestAttributes 는 핸들러가 반환하면 닫히므로 같은 요청으로 새로 만든다.
+        this.threadPoolTaskExecutor.setTaskDecorator(runnable -> {
+            RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+            if (!(requestAttributes instanceof ServletRequestAttributes)) {
+                return runnable;
+            }
+            HttpServletRequest request = ((ServletRequestAttributes) requestAttributes).getRequest();
+            HttpServletResponse response = ((ServletRequestAttributes) requestAttributes).getResponse();
+            return () -> {
+                RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+                try {
+                    runnable.run();
+                } finally {
+                    RequestContextHolder.resetRequestAttributes();
+                }
+            };
+        });
+        this.threadPoolTaskExecutor.initialize();
+        this.executor = this.threadPoolTaskExecutor;
+
+        new ExecutorServiceMetrics(this.threadPoolTaskExecutor.getThreadPoolExecutor(), "events.bulkhead", Tags.empty())
+                .bindTo(meterRegistry);
+
+        this.limitRejections = rejections(meterRegistry, "limit");
+        this.queueRejections = rejections(meterRegistry, "queue");
+        if (!appProperties.isEventConcurrencyLimitEnabled()) {
+            this.concurrencyLimiter = null;
+            return;
+        }
+        // 스레드 수만큼은 언제나 받고, 많아야 대기열까지 채운다.
+        this.concurrencyLimiter = new ConcurrencyLimiter(threads, threads + appProperties.getEventBulkheadQueueCapacity());
+        Gauge.builder("events.bulkhead.limit", this.concurrencyLimiter, ConcurrencyLimiter::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("events.bulkhead.in.flight", this.concurrencyLimiter, ConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("events.bulkhead.rejections")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * supplier 를 작업 스레드에서 실행한다. timeout 안에 실행을 시작하지 못하면 실행하지 않고 503 으로 끝낸다.
+     * 일단 시작한 작업은 시간이 걸려도 끝까지 실행하고 그 결과로 응답한다. 이미 반영된 쓰기를 503 으로 알리면
+     * 클라이언트가 다시 보내 중복으로 만들고, 응답을 끝낸 요청 객체를 작업 스레드가 계속 쓰게 된다.
+     * 동시 요청 한도를 넘거나 대기열이 가득 차면 실행하지 않고 바로 503 으로 끝낸다.
+     */
+    public CompletableFuture<ResponseEntity<?>> supply(Duration timeout, Supplier<ResponseEntity<?>> supplier) {
+        Executor executor = this.executor;
+        if (this.concurrencyLimiter != null) {
+            if (!this.concurrencyLimiter.tryAcquire()) {
+                this.limitRejections.increment();
+                return CompletableFuture.completedFuture(unavailable());
+            }
+            executor = released(this.executor);
+        }
+
+        // 작업 스레드와 타이머 중 먼저 차지한 쪽이 결과를 정한다.
+        CompletableFuture<ResponseEntity<?>> future = new CompletableFuture<>();
+        AtomicBoolean claimed = new AtomicBoolean();
+        try {
+            executor.execute(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    future.complete(supplier.get());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.queueRejections.increment();
+            if (this.concurrencyLimiter != null) {
+                this.concurrencyLimiter.release();
+            }
+            return CompletableFuture.completedFuture(unavailable());
+        }
+
+        if (!future.isDone()) {
+            CompletableFuture.delayedExecutor(timeout.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+                if (claimed.compareAndSet(false, true)) {
+                    future.complete(unavailable());
+                }
+            });
+        }
+        return future;
+    }
+
+    // 대기열에서 시간 초과된 작업은 supplier 를 부르지 않고 끝나므로 supplier 가 아닌 작업 단위로 내보낸다.
+    private Executor released(Executor executor) {
+        long start = System.nanoTime();
+        return command -> executor.execute(() -> {
+            try {
+                command.run();
+            } finally {
+                this.concurrencyLimiter.release(System.nanoTime() - start);
+            }
+        });
+    }
+
+    private static ResponseEntity<?> unavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        if (this.threadPoolTaskExecutor != null) {
+            this.threadPoolTaskExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.restexample.events;
+
+import com.example.restexample.configs.AppProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * 단건 조회용 이벤트 캐시. 크기와 TTL 로 제한되며 이벤트를 저장하면 비운다.
+ * 같은 id 에 대한 동시 미스는 한 번의 조회로 합쳐진다.
+ */
+@Component
+public class EventCache {
+    private final EventRepository eventRepository;
+    private final Cache<Integer, Event> cache;
+
+    public EventCache(EventRepository eventRepository, AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(appProperties.getEventCacheMaximumSize())
+                .expireAfterWrite(appProperties.getEventCacheTimeToLive())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, "events");
+    }
+
+    public Optional<Event> findById(Integer id) {
+        // 없는 이벤트는 캐시하지 않는다.
+        return Optional.ofNullable(this.cache.get(id, key -> this.eventRepository.findById(key).orElse(null)));
+    }
+
+    public void evict(Integer id) {
+        this.cache.invalidate(id);
+    }
+
+    // 다른 노드가 바꾼 상태는 TTL 이 지나야 보인다.
+    @EventListener
+    public void evict(EventStatusChangedEvent event) {
+        this.cache.invalidateAll(event.getIds());
+    }
+
+    public CacheStats stats() {
+        return this.cache.stats();
+    }
+}
@@ -2,136 +2,529 @@ package com.example.restexample.events;
 
 import com.example.restexample.accounts.Account;
 import com.example.restexample.accounts.CurrentUser;
+import com.example.restexample.common.BinaryMediaTypes;
+import com.example.restexample.configs.AppProperties;
 import com.example.restexample.index.IndexController;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.io.InputStream;
 import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Controller
-@RequestMapping(value = "/api/events", produces = MediaTypes.HAL_JSON_VALUE)
+@RequestMapping(value = "/api/events",
+        produces = {MediaTypes.HAL_JSON_VALUE, BinaryMediaTypes.SMILE_VALUE, BinaryMediaTypes.CBOR_VALUE})
 public class EventController {
+    private static final int MAX_PAGE_SIZE = 2000;
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    // 요청과 관계없이 같은 링크는 한 번만 만든다.
+    private static final Link CREATE_PROFILE = Link.of("/docs/index.html#resources-events-create").withRel("profile");
+    private static final Link CREATE_BATCH_PROFILE = Link.of("/docs/index.html#resources-events-create-batch").withRel("profile");
+    private static final Link LIST_PROFILE = Link.of("/docs/index.html#resources-events-list").withRel("profile");
+    private static final Link LIST_SLICE_PROFILE = Link.of("/docs/index.html#resources-events-list-slice").withRel("profile");
+    private static final Link LIST_CURSOR_PROFILE = Link.of("/docs/index.html#resources-events-list-cursor").withRel("profile");
+    private static final Link SEARCH_PROFILE = Link.of("/docs/index.html#resources-events-search").withRel("profile");
+    // 이벤트 하나를 내려줄 수 있는 형식. produces 와 같은 순서다.
+    private static final List<MediaType> REPRESENTATIONS =
+            List.of(MediaTypes.HAL_JSON, BinaryMediaTypes.SMILE, BinaryMediaTypes.CBOR);
+    private static final Link GET_PROFILE = Link.of("/resources-events-get").withRel("profile");
+    private static final Link PUBLISH_PROFILE = Link.of("/docs/index.html#resources-events-publish").withRel("profile");
+
     private final EventRepository eventRepository;
-    private final ModelMapper modelMapper;
+    private final EventMapper eventMapper;
     private final EventValidator eventValidator;
+    private final EventCountEstimator eventCountEstimator;
+    private final EventCache eventCache;
+    private final EventExporter eventExporter;
+    private final EventSearchIndex eventSearchIndex;
+    private final EventBulkhead eventBulkhead;
+    private final EventBatchValidator eventBatchValidator;
+    private final Duration readTimeout;
+    private final Duration writeTimeout;
+    private final EventStreamLimiter exportLimiter;
+    private final EventStreamLimiter validationLimiter;
 
-    public EventController(EventRepository eventRepository, ModelMapper modelMapper, EventValidator eventValidator){
+    public EventController(EventRepository eventRepository, EventMapper eventMapper, EventValidator eventValidator,
+                           EventCountEstimator eventCountEstimator, EventCache eventCache,
+                           EventExporter eventExporter, EventSearchIndex eventSearchIndex, EventBulkhead eventBulkhead,
+                           EventBatchValidator eventBatchValidator, AppProperties appProperties){
         this.eventRepository = eventRepository;
-        this.modelMapper = modelMapper;
+        this.eventMapper = eventMapper;
         this.eventValidator = eventValidator;
+        this.eventCountEstimator = eventCountEstimator;
+        this.eventCache = eventCache;
+        this.eventExporter = eventExporter;
+        this.eventSearchIndex = eventSearchIndex;
+        this.eventBulkhead = eventBulkhead;
+        this.eventBatchValidator = eventBatchValidator;
+        this.readTimeout = appProperties.getEventReadTimeout();
+        this.writeTimeout = appProperties.getEventWriteTimeout();
+        this.exportLimiter = new EventStreamLimiter(appProperties.getEventExportMaxConcurrency(),
+                appProperties.getEventExportTimeout());
+        this.validationLimiter = new EventStreamLimiter(appProperties.getEventValidationMaxConcurrency(),
+                appProperties.getEventValidationTimeout());
     }
 
     @PostMapping
-    public ResponseEntity<?> createEvent(@RequestBody @Valid EventDto eventDto,
-                                         Errors errors,
-                                         @CurrentUser Account currentUser){
-        if(errors.hasErrors()){
-            return this.badRequest(errors);
-        }
+    public CompletableFuture<ResponseEntity<?>> createEvent(@RequestBody @Valid EventDto eventDto,
+                                                            Errors errors,
+                                                            @RequestHeader HttpHeaders headers,
+                                                            @CurrentUser Account currentUser){
+        return this.eventBulkhead.supply(this.writeTimeout, () -> {
+            if(errors.hasErrors()){
+                return this.badRequest(errors);
+            }
 
-        eventValidator.validate(eventDto, errors);
-        if(errors.hasErrors()){
-            return this.badRequest(errors);
-        }
+            eventValidator.validate(eventDto, errors);
+            if(errors.hasErrors()){
+                return this.badRequest(errors);
+            }
 
-        Event event = modelMapper.map(eventDto, Event.class);
-        event.update();
-        event.setManager(currentUser);
-        Event newEvent = this.eventRepository.save(event);
+            Event event = eventMapper.toEvent(eventDto);
+            event.update();
+            event.setManager(currentUser);
+            Event newEvent = this.eventRepository.save(event);
+            this.eventCache.evict(newEvent.getId());
+            this.eventSearchIndex.index(EventView.of(newEvent));
 
-        WebMvcLinkBuilder webMvcLinkBuilder = linkTo(EventController.class).slash(newEvent.getId());
-        URI createdUri = webMvcLinkBuilder.toUri();
+            EventLinks eventLinks = EventLinks.current();
+            Link eventLink = eventLinks.event(newEvent.getId());
+            URI createdUri = eventLink.toUri();
 
-        EventEntityModel eventRepresentationModel = new EventEntityModel(newEvent);
-        eventRepresentationModel.add(linkTo(EventController.class).withRel("query-events"));
-        eventRepresentationModel.add(webMvcLinkBuilder.withRel("update-event"));
-        eventRepresentationModel.add(Link.of("/docs/index.html#resources-events-create").withRel("profile"));
+            EventEntityModel eventRepresentationModel = new EventEntityModel(newEvent);
+            eventRepresentationModel.add(eventLinks.events().withRel("query-events"));
+            eventRepresentationModel.add(eventLink.withRel("update-event"));
+            eventRepresentationModel.add(eventLinks.publish(newEvent.getId()).withRel("publish-event"));
+            eventRepresentationModel.add(CREATE_PROFILE);
 
 
-        return ResponseEntity.created(createdUri).body(eventRepresentationModel);
+            return ResponseEntity.created(createdUri)
+                    .eTag(eTag(newEvent, currentUser, representation(headers)))
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(eventRepresentationModel);
+        });
+    }
+
+    /**
+     * 여러 이벤트를 한 트랜잭션에서 만든다. 하나라도 검증에 실패하면 아무것도 만들지 않고
+     * 실패한 항목의 위치와 에러를 돌려준다.
+     */
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<?>> createEvents(@RequestBody List<EventDto> eventDtos,
+                                                             @CurrentUser Account currentUser) {
+        return this.eventBulkhead.supply(this.writeTimeout, () -> {
+            if (eventDtos.isEmpty() || eventDtos.size() > MAX_BATCH_SIZE) {
+                Errors errors = new MapBindingResult(new HashMap<>(), "eventDtos");
+                errors.reject("wrongBatchSize", "Batch size must be between 1 and " + MAX_BATCH_SIZE);
+                return badRequest(errors);
+            }
+
+            List<EventBatchError> batchErrors = validateBatch(eventDtos);
+            if (!batchErrors.isEmpty()) {
+                var collectionModel = CollectionModel.of(batchErrors);
+                collectionModel.add(linkTo(methodOn(IndexController.class).index()).withRel("index"));
+                return ResponseEntity.badRequest().body(collectionModel);
+            }
+
+            List<Event> events = new ArrayList<>(eventDtos.size());
+            for (EventDto eventDto : eventDtos) {
+                Event event = this.eventMapper.toEvent(eventDto);
+                event.update();
+                event.setManager(currentUser);
+                events.add(event);
+            }
+            // saveAll 은 한 트랜잭션이며 insert 는 hibernate.jdbc.batch_size 단위로 묶여 나간다.
+            List<Event> newEvents = this.eventRepository.saveAll(events);
+            newEvents.forEach(newEvent -> this.eventSearchIndex.index(EventView.of(newEvent)));
+
+            List<EventEntityModel> content = newEvents.stream()
+                    .map(EventEntityModel::new)
+                    .collect(Collectors.toList());
+            var collectionModel = CollectionModel.of(content);
+            collectionModel.add(EventLinks.current().events().withRel("query-events"));
+            collectionModel.add(CREATE_BATCH_PROFILE);
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(collectionModel);
+        });
     }
 
     @GetMapping
-    public ResponseEntity<?> queryEvents(Pageable pageable,
-                                         PagedResourcesAssembler<Event> assembler,
-                                         @CurrentUser Account account) {
-        Page<Event> page = this.eventRepository.findAll(pageable);
-        var pagedResources = assembler.toModel(page, e-> new EventEntityModel(e));
-        pagedResources.add(Link.of("/docs/index.html#resources-events-list").withRel("profile"));
-
-        if (account != null) {
-            pagedResources.add(linkTo(EventController.class).withRel("create-event"));
+    public CompletableFuture<ResponseEntity<?>> queryEvents(Pageable pageable,
+                                                            EventFilter filter,
+                                                            Errors errors,
+                                                            PagedResourcesAssembler<EventView> assembler,
+                                                            @CurrentUser Account account) {
+        return this.eventBulkhead.supply(this.readTimeout, () -> {
+            if (errors.hasErrors()) {
+                return badRequest(errors);
+            }
+
+            Page<EventView> page = filter.isEmpty()
+                    ? this.eventRepository.findAllViews(pageable)
+                    : this.eventRepository.findAllViews(filter.toSpecification(), pageable);
+            var pagedResources = assembler.toModel(page, EventViewModel::new);
+            pagedResources.add(LIST_PROFILE);
+
+            if (account != null) {
+                pagedResources.add(EventLinks.current().events().withRel("create-event"));
+            }
+
+            return ResponseEntity.ok(pagedResources);
+        });
+    }
+
+    @GetMapping(params = {"count=false", "!after"})
+    public CompletableFuture<ResponseEntity<?>> queryEventsSlice(Pageable pageable,
+                                                                 EventFilter filter,
+                                                                 Errors errors,
+                                                                 @CurrentUser Account account) {
+        return this.eventBulkhead.supply(this.readTimeout, () -> {
+            if (errors.hasErrors()) {
+                return badRequest(errors);
+            }
+
+            Slice<EventView> slice = filter.isEmpty()
+                    ? this.eventRepository.findViewSlice(pageable)
+                    : this.eventRepository.findViewSlice(filter.toSpecification(), pageable);
+
+            var collectionModel = toCollectionModel(slice);
+            if (slice.hasPrevious()) {
+                collectionModel.add(pageLink(slice.previousPageable()).withRel("prev"));
+            }
+            if (slice.hasNext()) {
+                collectionModel.add(pageLink(slice.nextPageable()).withRel("next"));
+            }
+            collectionModel.add(LIST_SLICE_PROFILE);
+
+            if (account != null) {
+                collectionModel.add(EventLinks.current().events().withRel("create-event"));
+            }
+
+            return ResponseEntity.ok()
+                    .header("X-Total-Count-Estimate", String.valueOf(this.eventCountEstimator.getEstimate()))
+                    .body(collectionModel);
+        });
+    }
+
+    @GetMapping(params = "after")
+    public CompletableFuture<ResponseEntity<?>> queryEventsAfter(@RequestParam String after,
+                                                                 @RequestParam(defaultValue = "id") EventCursor.Order orderBy,
+                                                                 @RequestParam(defaultValue = "20") int size,
+                                                                 EventFilter filter,
+                                                                 Errors errors,
+                                                                 @CurrentUser Account account) {
+        return this.eventBulkhead.supply(this.readTimeout, () -> {
+            if (errors.hasErrors()) {
+                return badRequest(errors);
+            }
+
+            EventCursor cursor;
+            try {
+                cursor = after.isEmpty() ? EventCursor.first(orderBy) : EventCursor.decode(after);
+            } catch (IllegalArgumentException e) {
+                Errors cursorErrors = new MapBindingResult(new HashMap<>(), "cursor");
+                cursorErrors.reject("wrongCursor", "Cursor is wrong");
+                return badRequest(cursorErrors);
+            }
+
+            int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+            Slice<EventView> slice = this.eventRepository.findViewsAfter(cursor, filter, pageSize);
+
+            var collectionModel = toCollectionModel(slice);
+            if (slice.hasNext()) {
+                EventView last = slice.getContent().get(slice.getNumberOfElements() - 1);
+                // 필터 파라미터는 현재 요청 URI 에 그대로 남아 다음 페이지에도 적용된다.
+                String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                        .replaceQueryParam("after", EventCursor.after(cursor.getOrder(), last).encode())
+                        .replaceQueryParam("size", pageSize)
+                        .replaceQueryParam("orderBy")
+                        .toUriString();
+                collectionModel.add(Link.of(next).withRel("next"));
+            }
+            collectionModel.add(LIST_CURSOR_PROFILE);
+
+            if (account != null) {
+                collectionModel.add(EventLinks.current().events().withRel("create-event"));
+            }
+
+            return ResponseEntity.ok(collectionModel);
+        });
+    }
+
+    /**
+     * 전체 이벤트를 NDJSON 으로 내려준다. 응답은 요청 스레드가 아닌 비동기 스레드에서 쓴다.
+     * 내보내기는 끝날 때까지 커넥션 하나를 붙잡으므로 동시에 내보내는 수를 넘으면 바로 503 으로 끝낸다.
+     * 오래 걸리므로 이 요청에만 긴 비동기 시간 제한을 두고, 시간이 지나면 남은 이벤트를 쓰지 않고 멈춘다.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEvents(HttpServletRequest request) {
+        return this.exportLimiter.stream(request, MediaType.APPLICATION_NDJSON, this.eventExporter::export);
+    }
+
+    /**
+     * 이벤트를 만들지 않고 검증만 한다. JSON 배열이나 NDJSON 을 받아 잘못된 항목만 NDJSON 으로 내려준다.
+     * DB 를 쓰지 않으므로 벌크헤드를 거치지 않고, 요청 본문은 응답을 쓰는 비동기 스레드에서 읽는 대로 검증한다.
+     * 검증은 비동기 스레드와 검증 스레드를 오래 쓰므로 동시에 검증하는 수를 넘으면 바로 503 으로 끝내고,
+     * 큰 본문을 올리는 동안 끊기지 않도록 이 요청에만 긴 비동기 시간 제한을 둔다.
+     */
+    @PostMapping(value = "/validate",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> validateEvents(InputStream inputStream, HttpServletRequest request) {
+        return this.validationLimiter.stream(request, MediaType.APPLICATION_NDJSON,
+                (outputStream, cancelled) -> this.eventBatchValidator.validate(inputStream, outputStream, cancelled));
+    }
+
+    /**
+     * 이름, 설명, 장소로 이벤트를 검색한다. 메모리 색인만 보므로 벌크헤드를 거치지 않는다.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchEvents(@RequestParam String q,
+                                          Pageable pageable,
+                                          PagedResourcesAssembler<EventView> assembler) {
+        if (q.isBlank()) {
+            Errors errors = new MapBindingResult(new HashMap<>(), "search");
+            errors.reject("emptyQuery", "Query is empty");
+            return badRequest(errors);
         }
 
+        Page<EventView> page = this.eventSearchIndex.search(q, pageable);
+        var pagedResources = assembler.toModel(page, EventViewModel::new);
+        pagedResources.add(SEARCH_PROFILE);
         return ResponseEntity.ok(pagedResources);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getEvent(@PathVariable Integer id,
-                                      @CurrentUser Account currentUser) {
-        Optional<Event> optionalEvent = this.eventRepository.findById(id);
-        if(optionalEvent.isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }
+    public CompletableFuture<ResponseEntity<?>> getEvent(@PathVariable Integer id,
+                                                         @RequestHeader HttpHeaders headers,
+                                                         @CurrentUser Account currentUser) {
+        return this.eventBulkhead.supply(this.readTimeout, () -> {
+            Optional<Event> optionalEvent = this.eventCache.findById(id);
+            if(optionalEvent.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
 
-        Event event = optionalEvent.get();
-        EventEntityModel eventEntityModel = new EventEntityModel(event);
-        eventEntityModel.add(Link.of("/resources-events-get").withRel("profile"));
+            Event event = optionalEvent.get();
+            String eTag = eTag(event, currentUser, representation(headers));
+            // 클라이언트가 가진 표현이 최신이면 본문을 만들지 않는다.
+            if (matches(headers.getIfNoneMatch(), eTag, false)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+            }
 
-        if (event.getManager().equals(currentUser)) {
-            eventEntityModel.add(linkTo(EventController.class).slash(event.getId()).withRel("update-event"));
-        }
+            EventEntityModel eventEntityModel = new EventEntityModel(event);
+            eventEntityModel.add(GET_PROFILE);
+
+            if (event.isManagedBy(currentUser)) {
+                EventLinks eventLinks = EventLinks.current();
+                eventEntityModel.add(eventLinks.event(event.getId()).withRel("update-event"));
+                if (event.getEventStatus() == EventStatus.DRAFT) {
+                    eventEntityModel.add(eventLinks.publish(event.getId()).withRel("publish-event"));
+                }
+            }
 
-        return ResponseEntity.ok(eventEntityModel);
+            return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(eventEntityModel);
+        });
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateEvent(@PathVariable Integer id,
-                                         @RequestBody @Valid EventDto eventDto,
-                                         Errors errors,
-                                         @CurrentUser Account currentUser) {
-        Optional<Event> optionalEvent = this.eventRepository.findById(id);
-        if (optionalEvent.isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }
+    public CompletableFuture<ResponseEntity<?>> updateEvent(@PathVariable Integer id,
+                                                            @RequestBody @Valid EventDto eventDto,
+                                                            Errors errors,
+                                                            @RequestHeader HttpHeaders headers,
+                                                            @CurrentUser Account currentUser) {
+        return this.eventBulkhead.supply(this.writeTimeout, () -> {
+            // 캐시의 이벤트는 여러 요청이 같이 읽으므로 수정할 이벤트는 따로 읽는다.
+            Optional<Event> optionalEvent = this.eventRepository.findById(id);
+            if (optionalEvent.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
 
-        if (errors.hasErrors()) {
-            return badRequest(errors);
+            if (errors.hasErrors()) {
+                return badRequest(errors);
+            }
+
+            this.eventValidator.validate(eventDto, errors);
+            if(errors.hasErrors()) {
+                return badRequest(errors);
+            }
+
+            Event existingEvent = optionalEvent.get();
+            if (!existingEvent.isManagedBy(currentUser)) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+
+            List<String> ifMatch = headers.getIfMatch();
+            if (!ifMatch.isEmpty() && !matchesAnyRepresentation(ifMatch, existingEvent, currentUser)) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+
+            Event savedEvent;
+            try {
+                this.eventMapper.update(eventDto, existingEvent);
+                savedEvent = this.eventRepository.save(existingEvent);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                // 읽은 뒤에 다른 요청이 먼저 수정한 경우. 행 잠금 대신 버전 비교로 막는다.
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            } finally {
+                this.eventCache.evict(id);
+            }
+            this.eventSearchIndex.index(EventView.of(savedEvent));
+
+            EventEntityModel eventEntityModel = new EventEntityModel(savedEvent);
+            eventEntityModel.add(LIST_PROFILE);
+
+            return ResponseEntity.ok()
+                    .eTag(eTag(savedEvent, currentUser, representation(headers)))
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(eventEntityModel);
+        });
+    }
+
+    /**
+     * 매니저가 DRAFT 인 이벤트를 공개한다. 공개해야 등록을 받고, 이후 상태는 스케줄러가 시각에 맞춰 옮긴다.
+     */
+    @PostMapping("/{id}/publish")
+    public CompletableFuture<ResponseEntity<?>> publishEvent(@PathVariable Integer id,
+                                                             @RequestHeader HttpHeaders headers,
+                                                             @CurrentUser Account currentUser) {
+        return this.eventBulkhead.supply(this.writeTimeout, () -> {
+            Optional<Event> optionalEvent = this.eventRepository.findById(id);
+            if (optionalEvent.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+
+            Event existingEvent = optionalEvent.get();
+            if (!existingEvent.isManagedBy(currentUser)) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+
+            if (!existingEvent.publish()) {
+                Errors errors = new MapBindingResult(new HashMap<>(), "event");
+                errors.reject("alreadyPublished", "Event is already published");
+                return conflict(errors);
+            }
+
+            Event savedEvent;
+            try {
+                savedEvent = this.eventRepository.save(existingEvent);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            } finally {
+                this.eventCache.evict(id);
+            }
+            this.eventSearchIndex.index(EventView.of(savedEvent));
+
+            EventEntityModel eventEntityModel = new EventEntityModel(savedEvent);
+            eventEntityModel.add(EventLinks.current().event(id).withRel("update-event"));
+            eventEntityModel.add(PUBLISH_PROFILE);
+
+            return ResponseEntity.ok()
+                    .eTag(eTag(savedEvent, currentUser, representation(headers)))
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(eventEntityModel);
+        });
+    }
+
+    /**
+     * 매니저에게는 update-event 링크가 더 붙으므로 다른 표현으로 보고 ETag 를 구분한다.
+     * 같은 버전이라도 JSON, Smile, CBOR 본문은 바이트가 다르므로 형식도 ETag 에 넣는다.
+     */
+    private static String eTag(Event event, Account currentUser, MediaType representation) {
+        return "\"" + event.getVersion() + (event.isManagedBy(currentUser) ? "-m" : "") + "-" + representation.getSubtype() + "\"";
+    }
+
+    // If-Match 는 본문이 아니라 수정할 버전을 확인하므로 어느 형식으로 받은 ETag 든 받아 준다.
+    private static boolean matchesAnyRepresentation(List<String> ifMatch, Event event, Account currentUser) {
+        for (MediaType representation : REPRESENTATIONS) {
+            if (matches(ifMatch, eTag(event, currentUser, representation), true)) {
+                return true;
+            }
         }
+        return false;
+    }
 
-        this.eventValidator.validate(eventDto, errors);
-        if(errors.hasErrors()) {
-            return badRequest(errors);
+    // 메시지 컨버터처럼 Accept 에서 선호하는 순서대로 내려줄 수 있는 형식을 고른다. Accept 가 없으면 HAL JSON 이다.
+    private static MediaType representation(HttpHeaders headers) {
+        List<MediaType> acceptableTypes = new ArrayList<>(headers.getAccept());
+        MediaType.sortBySpecificityAndQuality(acceptableTypes);
+        for (MediaType acceptableType : acceptableTypes) {
+            for (MediaType representation : REPRESENTATIONS) {
+                if (acceptableType.isCompatibleWith(representation)) {
+                    return representation;
+                }
+            }
         }
+        return MediaTypes.HAL_JSON;
+    }
 
-        Event existingEvent = optionalEvent.get();
-        if (!existingEvent.getManager().equals(currentUser)) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    private static boolean matches(List<String> eTags, String eTag, boolean strong) {
+        for (String candidate : eTags) {
+            if (candidate.equals("*") || candidate.equals(eTag)) {
+                return true;
+            }
+            // If-None-Match 는 약한 비교를 한다.
+            if (!strong && candidate.startsWith("W/") && candidate.substring(2).equals(eTag)) {
+                return true;
+            }
         }
+        return false;
+    }
 
-        this.modelMapper.map(eventDto, existingEvent);
-        Event savedEvent = this.eventRepository.save(existingEvent);
+    private List<EventBatchError> validateBatch(List<EventDto> eventDtos) {
+        List<EventBatchError> batchErrors = new ArrayList<>();
+        for (int i = 0; i < eventDtos.size(); i++) {
+            Errors errors = this.eventBatchValidator.validate(eventDtos.get(i));
+            if (errors.hasErrors()) {
+                batchErrors.add(new EventBatchError(i, errors));
+            }
+        }
+        return batchErrors;
+    }
 
-        EventEntityModel eventEntityModel = new EventEntityModel(savedEvent);
-        eventEntityModel.add(Link.of("/docs/index.html#resources-events-list").withRel("profile"));
+    private CollectionModel<EventViewModel> toCollectionModel(Slice<EventView> slice) {
+        List<EventViewModel> content = slice.getContent().stream()
+                .map(EventViewModel::new)
+                .collect(Collectors.toList());
+        var collectionModel = CollectionModel.of(content);
+        collectionModel.add(Link.of(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()).withSelfRel());
+        return collectionModel;
+    }
 
-        return ResponseEntity.ok(eventEntityModel);
+    private Link pageLink(Pageable pageable) {
+        return Link.of(ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("page", pageable.getPageNumber())
+                .replaceQueryParam("size", pageable.getPageSize())
+                .toUriString());
     }
 
     private ResponseEntity<EntityModel<Errors>> badRequest(Errors errors) {
@@ -140,4 +533,11 @@ public class EventController {
 
         return ResponseEntity.badRequest().body(entityModel);
     }
+
+    private ResponseEntity<EntityModel<Errors>> conflict(Errors errors) {
+        EntityModel<Errors> entityModel = EntityModel.of(errors);
+        entityModel.add(linkTo(methodOn(IndexController.class).index()).withRel("index"));
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(entityModel);
+    }
 }
@@ -0,0 +1,30 @@
+package com.example.restexample.events;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이벤트 전체 개수를 주기적으로 세어 두고, 목록 조회 때마다 COUNT(*) 를 하지 않도록 그 값을 돌려준다.
+ */
+@Component
+public class EventCountEstimator {
+    private final EventRepository eventRepository;
+
+    private volatile long estimate = -1;
+
+    public EventCountEstimator(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    @Scheduled(fixedDelayString = "${my-app.event-count-refresh-interval-ms:60000}")
+    public void refresh() {
+        this.estimate = this.eventRepository.count();
+    }
+
+    /**
+     * @return 마지막으로 센 이벤트 개수, 아직 세지 않았다면 -1
+     */
+    public long getEstimate() {
+        return this.estimate;
+    }
+}
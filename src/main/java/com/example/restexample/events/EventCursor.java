@@ -0,0 +1,90 @@
+package com.example.restexample.events;
+
+import lombok.Getter;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 키셋 페이지네이션에서 마지막으로 내려준 이벤트의 위치.
+ * 클라이언트에게는 불투명한 문자열로만 전달한다.
+ */
+@Getter
+public class EventCursor {
+    public enum Order {
+        id, beginEventDateTime
+    }
+
+    private static final String SEPARATOR = "|";
+
+    private final Order order;
+    private final Integer id;
+    private final LocalDateTime beginEventDateTime;
+
+    private EventCursor(Order order, Integer id, LocalDateTime beginEventDateTime) {
+        this.order = order;
+        this.id = id;
+        this.beginEventDateTime = beginEventDateTime;
+    }
+
+    public static EventCursor first(Order order) {
+        return new EventCursor(order, null, null);
+    }
+
+    public static EventCursor after(Order order, EventView event) {
+        return new EventCursor(order, event.getId(), event.getBeginEventDateTime());
+    }
+
+    public boolean isFirst() {
+        return this.id == null;
+    }
+
+    /**
+     * 커서 다음의 이벤트만 남기는 조건. 목록 필터와 함께 Criteria 로 조회할 때 쓴다. 첫 커서면 조건이 없다.
+     */
+    public Specification<Event> toSpecification() {
+        return (root, query, cb) -> {
+            if (isFirst()) {
+                return cb.conjunction();
+            }
+            if (this.order == Order.beginEventDateTime) {
+                return cb.or(cb.greaterThan(root.get("beginEventDateTime"), this.beginEventDateTime),
+                        cb.and(cb.equal(root.get("beginEventDateTime"), this.beginEventDateTime),
+                                cb.greaterThan(root.get("id"), this.id)));
+            }
+            return cb.greaterThan(root.get("id"), this.id);
+        };
+    }
+
+    public String encode() {
+        String value = this.order.name() + SEPARATOR + this.id + SEPARATOR
+                + (this.beginEventDateTime == null ? "" : this.beginEventDateTime);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException 디코딩할 수 없는 커서인 경우
+     */
+    public static EventCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = value.split("\\" + SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed cursor: " + cursor);
+            }
+
+            Order order = Order.valueOf(parts[0]);
+            Integer id = Integer.valueOf(parts[1]);
+            LocalDateTime beginEventDateTime = parts[2].isEmpty() ? null : LocalDateTime.parse(parts[2]);
+            if (order == Order.beginEventDateTime && beginEventDateTime == null) {
+                throw new IllegalArgumentException("Malformed cursor: " + cursor);
+            }
+
+            return new EventCursor(order, id, beginEventDateTime);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor, e);
+        }
+    }
+}
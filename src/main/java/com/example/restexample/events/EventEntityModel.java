@@ -2,12 +2,10 @@ package com.example.restexample.events;
 
 import org.springframework.hateoas.EntityModel;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-
 public class EventEntityModel extends EntityModel<Event> {
 
     public EventEntityModel(Event event) {
         super(event);
-        add(linkTo(EventController.class).slash(event.getId()).withSelfRel());
+        add(EventLinks.current().event(event.getId()).withSelfRel());
     }
 }
\ No newline at end of file
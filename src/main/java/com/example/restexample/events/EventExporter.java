@@ -0,0 +1,44 @@
+package com.example.restexample.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+/**
+ * 전체 이벤트를 한 줄에 하나씩 JSON 으로 쓴다(NDJSON).
+ * 전진 전용 커서에서 한 행씩 읽어 바로 쓰므로 이벤트 수와 관계없이 메모리 사용량이 일정하다.
+ * 요청 시간이 지나 취소되면 남은 행을 읽지 않고 멈춘다.
+ */
+@Component
+public class EventExporter {
+    private final EventRepository eventRepository;
+    private final ObjectWriter writer;
+
+    public EventExporter(EventRepository eventRepository, ObjectMapper objectMapper) {
+        this.eventRepository = eventRepository;
+        this.writer = objectMapper.writerFor(EventView.class);
+    }
+
+    // 커서는 트랜잭션이 열려 있는 동안에만 읽을 수 있다.
+    @Transactional(readOnly = true)
+    public void export(OutputStream outputStream, BooleanSupplier cancelled) throws IOException {
+        try (Stream<EventView> views = this.eventRepository.streamAllViews();
+             JsonGenerator generator = this.writer.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            Iterator<EventView> iterator = views.iterator();
+            while (iterator.hasNext() && !cancelled.getAsBoolean()) {
+                this.writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+}
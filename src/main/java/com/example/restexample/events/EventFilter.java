@@ -0,0 +1,76 @@
+package com.example.restexample.events;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import javax.persistence.criteria.Predicate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 이벤트 목록 조회 조건. 요청 파라미터로 채워지며 값이 있는 조건만 AND 로 묶는다.
+ * 시각 범위는 from 은 포함하고 to 는 포함하지 않는다.
+ */
+@Getter @Setter
+public class EventFilter {
+    private List<EventStatus> eventStatus;
+    private Boolean free;
+    private Boolean offline;
+    private Integer manager;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEventFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEventTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEnrollmentFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginEnrollmentTo;
+
+    public boolean isEmpty() {
+        return (this.eventStatus == null || this.eventStatus.isEmpty())
+                && this.free == null && this.offline == null && this.manager == null
+                && this.beginEventFrom == null && this.beginEventTo == null
+                && this.beginEnrollmentFrom == null && this.beginEnrollmentTo == null;
+    }
+
+    public Specification<Event> toSpecification() {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (this.eventStatus != null && !this.eventStatus.isEmpty()) {
+                predicates.add(this.eventStatus.size() == 1
+                        ? cb.equal(root.get("eventStatus"), this.eventStatus.get(0))
+                        : root.get("eventStatus").in(this.eventStatus));
+            }
+            if (this.free != null) {
+                predicates.add(cb.equal(root.get("free"), this.free));
+            }
+            if (this.offline != null) {
+                predicates.add(cb.equal(root.get("offline"), this.offline));
+            }
+            if (this.manager != null) {
+                // manager.id 는 조인 없이 외래 키 컬럼과 비교된다.
+                predicates.add(cb.equal(root.get("manager").get("id"), this.manager));
+            }
+            if (this.beginEventFrom != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("beginEventDateTime"), this.beginEventFrom));
+            }
+            if (this.beginEventTo != null) {
+                predicates.add(cb.lessThan(root.get("beginEventDateTime"), this.beginEventTo));
+            }
+            if (this.beginEnrollmentFrom != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("beginEnrollmentDateTime"), this.beginEnrollmentFrom));
+            }
+            if (this.beginEnrollmentTo != null) {
+                predicates.add(cb.lessThan(root.get("beginEnrollmentDateTime"), this.beginEnrollmentTo));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.restexample.events;
+
+import org.springframework.hateoas.Link;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+/**
+ * 이벤트 리소스의 링크를 만든다.
+ * linkTo() 로 매핑과 현재 요청 URI 를 해석하는 일은 요청마다 한 번만 하고,
+ * 이벤트별 링크는 그 결과에 id 를 이어 붙여 만든다.
+ */
+public final class EventLinks {
+    private static final String ATTRIBUTE_NAME = EventLinks.class.getName();
+
+    private final String eventsHref;
+
+    private EventLinks(String eventsHref) {
+        this.eventsHref = eventsHref;
+    }
+
+    /**
+     * 현재 요청의 EventLinks. 처음 부를 때 만들어 요청 속성에 넣어 둔다.
+     */
+    public static EventLinks current() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return create();
+        }
+
+        EventLinks eventLinks = (EventLinks) requestAttributes.getAttribute(ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST);
+        if (eventLinks == null) {
+            eventLinks = create();
+            requestAttributes.setAttribute(ATTRIBUTE_NAME, eventLinks, RequestAttributes.SCOPE_REQUEST);
+        }
+        return eventLinks;
+    }
+
+    private static EventLinks create() {
+        return new EventLinks(linkTo(EventController.class).withSelfRel().getHref());
+    }
+
+    public Link events() {
+        return Link.of(this.eventsHref);
+    }
+
+    public Link event(Integer id) {
+        return Link.of(this.eventsHref + "/" + id);
+    }
+
+    public Link publish(Integer id) {
+        return Link.of(this.eventsHref + "/" + id + "/publish");
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.restexample.events;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Component;
+
+/**
+ * EventDto 와 Event 사이의 필드 복사를 직접 수행한다.
+ * ModelMapper 가 리플렉션으로 매칭하던 필드와 동일한 필드만 다룬다.
+ */
+@Component
+public class EventMapper {
+
+    @Timed("events.mapping")
+    public Event toEvent(EventDto eventDto) {
+        Event event = new Event();
+        update(eventDto, event);
+        return event;
+    }
+
+    @Timed("events.mapping")
+    public void update(EventDto eventDto, Event event) {
+        event.setName(eventDto.getName());
+        event.setDescription(eventDto.getDescription());
+        event.setBeginEnrollmentDateTime(eventDto.getBeginEnrollmentDateTime());
+        event.setCloseEnrollmentDateTime(eventDto.getCloseEnrollmentDateTime());
+        event.setBeginEventDateTime(eventDto.getBeginEventDateTime());
+        event.setEndEventDateTime(eventDto.getEndEventDateTime());
+        event.setLimitOfEnrollment(eventDto.getLimitOfEnrollment());
+        event.setLocation(eventDto.getLocation());
+        event.setBasePrice(eventDto.getBasePrice());
+        event.setMaxPrice(eventDto.getMaxPrice());
+    }
+}
@@ -1,8 +1,91 @@
 package com.example.restexample.events;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Integer> {
+public interface EventRepository extends JpaRepository<Event, Integer>, EventViewQueries {
+    // 엔티티 대신 EventView 를 바로 만들어 영속성 컨텍스트와 스냅샷을 거치지 않는다.
+    // e.manager.id 는 조인 없이 외래 키 컬럼으로 읽힌다.
+    String SELECT_VIEW = "select new com.example.restexample.events.EventView(" +
+            "e.id, e.name, e.description, " +
+            "e.beginEnrollmentDateTime, e.closeEnrollmentDateTime, e.beginEventDateTime, e.endEventDateTime, " +
+            "e.location, e.basePrice, e.maxPrice, e.limitOfEnrollment, " +
+            "e.offline, e.free, e.eventStatus, e.manager.id) " +
+            "from Event e ";
+
+    @Transactional(readOnly = true)
+    @Query(value = SELECT_VIEW, countQuery = "select count(e) from Event e")
+    Page<EventView> findAllViews(Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_VIEW)
+    Slice<EventView> findViewSlice(Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_VIEW + "where e.id > :id")
+    Slice<EventView> findViewsAfterId(@Param("id") Integer id, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_VIEW +
+            "where e.beginEventDateTime > :beginEventDateTime " +
+            "or (e.beginEventDateTime = :beginEventDateTime and e.id > :id)")
+    Slice<EventView> findViewsAfterBeginEventDateTime(@Param("beginEventDateTime") LocalDateTime beginEventDateTime,
+                                                      @Param("id") Integer id,
+                                                      Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Event e where e.id = :id")
+    Optional<Event> findByIdForUpdate(@Param("id") Integer id);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_VIEW + "where e.id in :ids")
+    List<EventView> findViewsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * 전체 이벤트를 id 순서로 한 행씩 읽는다. 호출하는 쪽에서 트랜잭션을 열고, 다 읽은 뒤 스트림을 닫아야 한다.
+     * fetch size 를 주지 않으면 PostgreSQL 드라이버는 결과 전체를 메모리에 올린다.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_VIEW + "order by e.id")
+    Stream<EventView> streamAllViews();
+
+    /**
+     * 커서 다음의 이벤트 중 필터에 맞는 것을 size 개 조회한다. OFFSET 과 COUNT 쿼리 없이 인덱스 범위 검색만 한다.
+     */
+    default Slice<EventView> findViewsAfter(EventCursor cursor, EventFilter filter, int size) {
+        boolean byBeginEvent = cursor.getOrder() == EventCursor.Order.beginEventDateTime;
+        Pageable pageable = PageRequest.of(0, size, byBeginEvent ? Sort.by("beginEventDateTime", "id") : Sort.by("id"));
+        if (!filter.isEmpty()) {
+            // 조건이 바뀌므로 키셋 조건도 Criteria 로 만들어 필터와 묶는다.
+            return findViewSlice(filter.toSpecification().and(cursor.toSpecification()), pageable);
+        }
+
+        if (cursor.isFirst()) {
+            return findViewSlice(pageable);
+        }
+        return byBeginEvent
+                ? findViewsAfterBeginEventDateTime(cursor.getBeginEventDateTime(), cursor.getId(), pageable)
+                : findViewsAfterId(cursor.getId(), pageable);
+    }
 }
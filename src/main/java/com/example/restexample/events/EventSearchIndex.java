@@ -0,0 +1,408 @@
+package com.example.restexample.events;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * 이벤트 이름, 설명, 장소에 대한 메모리 역색인.
+ * 시작할 때 전체 이벤트로 채우고 이후에는 이벤트를 저장할 때마다 그 이벤트만 다시 색인한다.
+ * 검색 결과도 색인에 담아 둔 EventView 로 만들기 때문에 검색할 때는 데이터베이스에 가지 않는다.
+ */
+@Component
+public class EventSearchIndex implements MeterBinder {
+    // BM25 기본값
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // 이름에 들어간 단어는 설명이나 장소에 들어간 단어보다 더 쳐준다.
+    private static final int NAME_WEIGHT = 2;
+
+    private static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble((Hit hit) -> hit.score)
+            .thenComparing((Hit hit) -> hit.id, Comparator.reverseOrder());
+
+    private final EventRepository eventRepository;
+
+    // 검색끼리는 동시에 읽고, 색인을 고칠 때만 잠깐 막는다.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Integer, Document> documents = new HashMap<>();
+    private long totalLength;
+
+    public EventSearchIndex(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    /**
+     * 저장된 전체 이벤트를 색인한다. 도는 동안 저장된 이벤트가 더 최신이므로 이미 색인된 이벤트는 건너뛴다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        try (Stream<EventView> views = this.eventRepository.streamAllViews()) {
+            views.forEach(view -> put(new Document(view), true));
+        }
+    }
+
+    /**
+     * 스케줄러가 상태를 바꾼 이벤트를 다시 읽어 색인한다. 검색 결과의 상태가 목록 조회와 같아진다.
+     */
+    @EventListener
+    @Transactional(readOnly = true)
+    public void reindex(EventStatusChangedEvent event) {
+        this.eventRepository.findViewsByIdIn(event.getIds()).forEach(this::index);
+    }
+
+    /**
+     * 이벤트를 색인한다. 이미 색인된 이벤트면 예전 내용을 지우고 다시 넣는다.
+     */
+    public void index(EventView view) {
+        put(new Document(view), false);
+    }
+
+    /**
+     * 검색어의 모든 단어가 들어간 이벤트를 점수 순으로 돌려준다. 점수가 같으면 id 순이다.
+     * pageable 의 정렬 조건은 쓰지 않는다.
+     */
+    public Page<EventView> search(String query, Pageable pageable) {
+        Set<String> terms = new LinkedHashSet<>(EventTokenizer.tokenize(query));
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        long limit = pageable.getOffset() + pageable.getPageSize();
+
+        this.lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[terms.size()];
+            int i = 0;
+            for (String term : terms) {
+                Postings list = this.postings.get(term);
+                if (list == null) {
+                    return Page.empty(pageable);
+                }
+                lists[i++] = list;
+            }
+            Arrays.sort(lists, Comparator.comparingInt((Postings list) -> list.size));
+
+            int documentCount = this.documents.size();
+            double averageLength = (double) this.totalLength / documentCount;
+            double[] idfs = new double[lists.length];
+            for (int j = 0; j < lists.length; j++) {
+                int df = lists[j].size;
+                idfs[j] = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(WORST_FIRST);
+            long total = lists.length == 1
+                    ? collect(lists[0], idfs[0], averageLength, top, limit)
+                    : collect(lists, idfs, averageLength, top, limit);
+
+            int offset = (int) pageable.getOffset();
+            EventView[] content = new EventView[Math.max(0, top.size() - offset)];
+            // 큐에서는 점수가 낮은 것부터 나오므로 뒤에서부터 채우고, 앞쪽 페이지의 결과는 버린다.
+            for (int rank = top.size() - 1; rank >= offset; rank--) {
+                content[rank - offset] = this.documents.get(top.poll().id).view;
+            }
+            return new PageImpl<>(Arrays.asList(content), pageable, total);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 한 단어 검색. 결과 수는 목록 길이이므로 점수만 매기면 되고,
+     * 상위 결과가 다 찬 뒤에는 최고 점수가 지금 꼴찌보다 낮은 블록을 건너뛴다.
+     */
+    private static long collect(Postings list, double idf, double averageLength, PriorityQueue<Hit> top, long limit) {
+        for (int block = 0; block < list.blockCount(); block++) {
+            if (top.size() >= limit
+                    && idf * bm25(list.blockMaxFrequencies[block], list.blockMinLengths[block], averageLength) <= top.peek().score) {
+                continue;
+            }
+            int end = Math.min(list.size, (block + 1) * Postings.BLOCK_SIZE);
+            for (int p = block * Postings.BLOCK_SIZE; p < end; p++) {
+                offer(top, limit, list.ids[p], idf * bm25(list.frequencies[p], list.lengths[p], averageLength));
+            }
+        }
+        return list.size;
+    }
+
+    /**
+     * 여러 단어 검색. 가장 짧은 목록을 돌면서 나머지 목록에서 같은 id 를 찾는다.
+     * id 가 오름차순이므로 각 목록은 앞으로만 나아가며 건너뛰어 찾는다.
+     */
+    private static long collect(Postings[] lists, double[] idfs, double averageLength, PriorityQueue<Hit> top, long limit) {
+        long total = 0;
+        int[] cursors = new int[lists.length];
+        Postings shortest = lists[0];
+        candidates:
+        for (int p = 0; p < shortest.size; p++) {
+            int id = shortest.ids[p];
+            for (int j = 1; j < lists.length; j++) {
+                Postings list = lists[j];
+                if (list.members != null) {
+                    // 위치는 모든 목록에 있는 것을 확인한 뒤에 찾는다.
+                    if (!list.members.get(id)) {
+                        continue candidates;
+                    }
+                    continue;
+                }
+                int found = list.search(cursors[j], id);
+                if (found < 0) {
+                    cursors[j] = -(found + 1);
+                    if (cursors[j] == list.size) {
+                        break candidates;
+                    }
+                    continue candidates;
+                }
+                cursors[j] = found;
+            }
+
+            // 모든 목록에 있는 것을 확인한 뒤에만 점수를 매긴다.
+            double score = idfs[0] * bm25(shortest.frequencies[p], shortest.lengths[p], averageLength);
+            for (int j = 1; j < lists.length; j++) {
+                Postings list = lists[j];
+                int found = list.members != null ? list.search(cursors[j], id) : cursors[j];
+                cursors[j] = found + 1;
+                score += idfs[j] * bm25(list.frequencies[found], list.lengths[found], averageLength);
+            }
+            total++;
+            offer(top, limit, id, score);
+        }
+        return total;
+    }
+
+    private static void offer(PriorityQueue<Hit> top, long limit, int id, double score) {
+        if (top.size() < limit) {
+            top.add(new Hit(id, score));
+        } else if (score > top.peek().score) {
+            // 점수가 같으면 먼저 들어온, 즉 id 가 작은 결과를 남긴다.
+            top.poll();
+            top.add(new Hit(id, score));
+        }
+    }
+
+    int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.documents.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("events.search.documents", this, EventSearchIndex::size)
+                .description("The number of events in the search index")
+                .register(registry);
+    }
+
+    private void put(Document document, boolean ifAbsent) {
+        Integer id = document.view.getId();
+        this.lock.writeLock().lock();
+        try {
+            Document previous = this.documents.get(id);
+            if (previous != null) {
+                if (ifAbsent) {
+                    return;
+                }
+                for (String term : previous.terms) {
+                    Postings list = this.postings.get(term);
+                    list.remove(id);
+                    if (list.size == 0) {
+                        this.postings.remove(term);
+                    }
+                }
+                this.totalLength -= previous.length;
+            }
+
+            this.documents.put(id, document);
+            this.totalLength += document.length;
+            for (int i = 0; i < document.terms.length; i++) {
+                Postings list = this.postings.computeIfAbsent(document.terms[i], Postings::new);
+                list.put(id, document.frequencies[i], document.length);
+                // 같은 단어는 색인에 있는 문자열 하나만 들고 있는다.
+                document.terms[i] = list.term;
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private static double bm25(int frequency, int length, double averageLength) {
+        return frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+    }
+
+    private static final class Document {
+        private final EventView view;
+        // 다시 색인할 때 예전 단어를 지우려고 둔다. 빈도는 색인에 넣을 때만 쓴다.
+        private final String[] terms;
+        private final int[] frequencies;
+        private final int length;
+
+        // 토큰은 잠금 밖에서 자른다.
+        private Document(EventView view) {
+            Map<String, int[]> counts = new HashMap<>();
+            this.view = view;
+            this.length = count(counts, view.getName(), NAME_WEIGHT)
+                    + count(counts, view.getDescription(), 1)
+                    + count(counts, view.getLocation(), 1);
+            this.terms = new String[counts.size()];
+            this.frequencies = new int[counts.size()];
+            int i = 0;
+            for (Map.Entry<String, int[]> entry : counts.entrySet()) {
+                this.terms[i] = entry.getKey();
+                this.frequencies[i++] = entry.getValue()[0];
+            }
+        }
+
+        private static int count(Map<String, int[]> counts, String text, int weight) {
+            List<String> tokens = EventTokenizer.tokenize(text);
+            for (String token : tokens) {
+                counts.computeIfAbsent(token, key -> new int[1])[0] += weight;
+            }
+            return tokens.size();
+        }
+    }
+
+    /**
+     * 한 단어가 들어간 이벤트 목록. id 오름차순으로 정렬된 배열이며, 점수 계산에 쓰는 값도 옆에 둔다.
+     * 새 이벤트는 id 가 가장 크므로 대부분 끝에 붙는다.
+     * BLOCK_SIZE 개씩 묶은 블록마다 가장 큰 빈도와 가장 짧은 길이를 두어 블록의 최고 점수를 바로 구한다.
+     */
+    private static final class Postings {
+        private static final int BLOCK_SIZE = 128;
+        private static final int MIN_DENSE_SIZE = 1024;
+
+        private final String term;
+        private int[] ids = new int[4];
+        private int[] frequencies = new int[4];
+        private int[] lengths = new int[4];
+        private int size;
+        private int[] blockMaxFrequencies = new int[1];
+        private int[] blockMinLengths = new int[1];
+        // 이벤트 32개 중 하나 이상에 나오는 단어는 id 배열보다 작으므로 비트셋을 더 둔다.
+        private BitSet members;
+
+        private Postings(String term) {
+            this.term = term;
+        }
+
+        private int blockCount() {
+            return (this.size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        }
+
+        /**
+         * from 부터 id 를 찾는다. 간격을 두 배씩 늘리며 건너뛴 뒤 그 구간만 이분 탐색한다.
+         * @return 찾은 위치, 없으면 Arrays.binarySearch 와 같이 -(들어갈 위치 + 1)
+         */
+        private int search(int from, int id) {
+            int low = from;
+            int high = from;
+            int step = 1;
+            while (high < this.size && this.ids[high] < id) {
+                low = high + 1;
+                high = from + step;
+                step <<= 1;
+            }
+            return Arrays.binarySearch(this.ids, low, Math.min(high + 1, this.size), id);
+        }
+
+        private void put(int id, int frequency, int length) {
+            int index = this.size > 0 && this.ids[this.size - 1] < id
+                    ? -(this.size + 1)
+                    : Arrays.binarySearch(this.ids, 0, this.size, id);
+            if (index < 0) {
+                index = -(index + 1);
+                if (this.size == this.ids.length) {
+                    int capacity = this.size + (this.size >> 1);
+                    this.ids = Arrays.copyOf(this.ids, capacity);
+                    this.frequencies = Arrays.copyOf(this.frequencies, capacity);
+                    this.lengths = Arrays.copyOf(this.lengths, capacity);
+                }
+                System.arraycopy(this.ids, index, this.ids, index + 1, this.size - index);
+                System.arraycopy(this.frequencies, index, this.frequencies, index + 1, this.size - index);
+                System.arraycopy(this.lengths, index, this.lengths, index + 1, this.size - index);
+                this.size++;
+            }
+            this.ids[index] = id;
+            this.frequencies[index] = frequency;
+            this.lengths[index] = length;
+            updateBlocks(index);
+
+            if (this.members != null) {
+                this.members.set(id);
+            } else if (this.size >= MIN_DENSE_SIZE && this.size * 32L >= this.ids[this.size - 1]) {
+                this.members = new BitSet(this.ids[this.size - 1] + 1);
+                for (int p = 0; p < this.size; p++) {
+                    this.members.set(this.ids[p]);
+                }
+            }
+        }
+
+        private void remove(int id) {
+            int index = Arrays.binarySearch(this.ids, 0, this.size, id);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(this.ids, index + 1, this.ids, index, this.size - index - 1);
+            System.arraycopy(this.frequencies, index + 1, this.frequencies, index, this.size - index - 1);
+            System.arraycopy(this.lengths, index + 1, this.lengths, index, this.size - index - 1);
+            this.size--;
+            updateBlocks(index);
+            if (this.members != null) {
+                this.members.clear(id);
+            }
+        }
+
+        // index 뒤의 항목은 한 칸씩 밀렸으므로 index 가 속한 블록부터 다시 구한다.
+        private void updateBlocks(int index) {
+            int blockCount = blockCount();
+            if (blockCount > this.blockMaxFrequencies.length) {
+                this.blockMaxFrequencies = Arrays.copyOf(this.blockMaxFrequencies, blockCount * 2);
+                this.blockMinLengths = Arrays.copyOf(this.blockMinLengths, blockCount * 2);
+            }
+            for (int block = index / BLOCK_SIZE; block < blockCount; block++) {
+                int maxFrequency = 0;
+                int minLength = Integer.MAX_VALUE;
+                int end = Math.min(this.size, (block + 1) * BLOCK_SIZE);
+                for (int p = block * BLOCK_SIZE; p < end; p++) {
+                    maxFrequency = Math.max(maxFrequency, this.frequencies[p]);
+                    minLength = Math.min(minLength, this.lengths[p]);
+                }
+                this.blockMaxFrequencies[block] = maxFrequency;
+                this.blockMinLengths[block] = minLength;
+            }
+        }
+    }
+
+    private static final class Hit {
+        private final int id;
+        private final double score;
+
+        private Hit(int id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.restexample.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 스케줄러가 이벤트 상태를 한 번에 바꾼 뒤 커밋되고 나서 발행한다.
+ * 캐시와 검색 색인처럼 이벤트 사본을 들고 있는 쪽이 받아서 갱신한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class EventStatusChangedEvent {
+    private final List<Integer> ids;
+    private final EventStatus eventStatus;
+}
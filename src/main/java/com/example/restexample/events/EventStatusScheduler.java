@@ -0,0 +1,123 @@
+package com.example.restexample.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 등록과 이벤트 시각이 지난 이벤트를 다음 상태로 옮긴다.
+ * 이벤트를 엔티티로 읽지 않고 옮길 id 를 골라 UPDATE ... WHERE 로 한 번에 바꾼다.
+ * UPDATE 에 바뀌기 전 상태를 조건으로 다시 걸기 때문에 여러 노드에서 동시에 돌아도 상태가 뒤로 가거나 두 번 바뀌지 않는다.
+ * DRAFT 는 매니저가 공개해야 하므로 건드리지 않는다.
+ */
+@Component
+public class EventStatusScheduler {
+    private static final int BATCH_SIZE = 500;
+    // 늦은 단계부터 옮겨서 여러 시각이 함께 지난 이벤트는 한 번에 마지막 단계로 간다.
+    private static final List<Transition> TRANSITIONS = List.of(
+            new Transition(EventStatus.ENDED, "endEventDateTime"),
+            new Transition(EventStatus.STARTED, "beginEventDateTime"),
+            new Transition(EventStatus.CLOSED_ENROLLMENT, "closeEnrollmentDateTime"),
+            new Transition(EventStatus.BEGAN_ENROLLMEND, "beginEnrollmentDateTime")
+    );
+
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final Map<EventStatus, Counter> transitions = new EnumMap<>(EventStatus.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public EventStatusScheduler(PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher applicationEventPublisher,
+                                MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.applicationEventPublisher = applicationEventPublisher;
+        for (Transition transition : TRANSITIONS) {
+            this.transitions.put(transition.to, Counter.builder("events.status.transitions")
+                    .tag("status", transition.to.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    // 모든 노드가 분 단위로 같이 돈다. 끄려면 my-app.event-status-cron=- 로 둔다.
+    @Scheduled(cron = "${my-app.event-status-cron:0 * * * * *}")
+    public void advance() {
+        advance(LocalDateTime.now());
+    }
+
+    /**
+     * now 기준으로 시각이 지난 이벤트의 상태를 옮긴다.
+     *
+     * @return 상태를 옮긴 이벤트 수. 다른 노드가 먼저 옮긴 이벤트는 세지 않는다.
+     */
+    public int advance(LocalDateTime now) {
+        int advanced = 0;
+        for (Transition transition : TRANSITIONS) {
+            advanced += advance(transition, now);
+        }
+        return advanced;
+    }
+
+    private int advance(Transition transition, LocalDateTime now) {
+        int advanced = 0;
+        List<Integer> ids;
+        do {
+            // 한 트랜잭션에서 BATCH_SIZE 개씩 옮겨 잠금을 오래 잡지 않는다. 옮긴 이벤트는 다음 조회에서 빠진다.
+            int[] updated = new int[1];
+            ids = this.transactionTemplate.execute(status -> {
+                List<Integer> batch = this.entityManager.createQuery(
+                                "select e.id from Event e " +
+                                "where e.eventStatus in :from and e." + transition.dateTime + " <= :now " +
+                                "order by e.id", Integer.class)
+                        .setParameter("from", transition.from)
+                        .setParameter("now", now)
+                        .setMaxResults(BATCH_SIZE)
+                        .getResultList();
+                if (!batch.isEmpty()) {
+                    // 버전을 올려서 ETag 가 바뀌고, 같은 이벤트를 고치던 요청은 낙관적 잠금에 걸린다.
+                    updated[0] = this.entityManager.createQuery(
+                                    "update Event e set e.eventStatus = :to, e.version = e.version + 1 " +
+                                    "where e.id in :ids and e.eventStatus in :from")
+                            .setParameter("to", transition.to)
+                            .setParameter("ids", batch)
+                            .setParameter("from", transition.from)
+                            .executeUpdate();
+                }
+                return batch;
+            });
+            if (!ids.isEmpty()) {
+                advanced += updated[0];
+                this.transitions.get(transition.to).increment(updated[0]);
+                this.applicationEventPublisher.publishEvent(new EventStatusChangedEvent(ids, transition.to));
+            }
+        } while (ids.size() == BATCH_SIZE);
+        return advanced;
+    }
+
+    private static final class Transition {
+        private final EventStatus to;
+        private final String dateTime;
+        // 공개된 뒤 to 이전의 상태
+        private final Set<EventStatus> from;
+
+        private Transition(EventStatus to, String dateTime) {
+            this.to = to;
+            this.dateTime = dateTime;
+            this.from = EnumSet.range(EventStatus.PUBLISHED, EventStatus.values()[to.ordinal() - 1]);
+        }
+    }
+}
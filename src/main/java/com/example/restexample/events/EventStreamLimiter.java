@@ -0,0 +1,91 @@
+package com.example.restexample.events;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 내보내기처럼 응답을 오래 쓰는 요청의 동시 실행 수와 비동기 시간 제한을 요청 종류마다 따로 둔다.
+ * 상태 코드와 헤더는 요청 스레드에서 정하고, 본문만 {@link StreamingResponseBody} 로 비동기 스레드에서 쓴다.
+ * 시간이 지나면 본문을 쓰는 작업이 다음 항목을 쓰기 전에 멈추도록 취소 표시를 넘긴다.
+ */
+class EventStreamLimiter {
+    private final Semaphore permits;
+    private final Duration timeout;
+
+    EventStreamLimiter(int maxConcurrency, Duration timeout) {
+        this.permits = new Semaphore(maxConcurrency);
+        this.timeout = timeout;
+    }
+
+    /**
+     * 동시 실행 수를 넘으면 비동기로 넘기지 않고 바로 503 으로 응답한다.
+     */
+    ResponseEntity<StreamingResponseBody> stream(HttpServletRequest request, MediaType contentType, Writer writer) {
+        if (!this.permits.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        }
+
+        // 본문을 쓰기 시작한 쪽이나, 시작하기 전에 요청이 끝났으면 요청을 끝낸 쪽이 허가를 돌려준다.
+        AtomicBoolean claimed = new AtomicBoolean();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(EventStreamLimiter.class.getName(),
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                        if (webRequest instanceof AsyncWebRequest) {
+                            ((AsyncWebRequest) webRequest).setTimeout(EventStreamLimiter.this.timeout.toMillis());
+                        }
+                    }
+
+                    @Override
+                    public <T> Object handleTimeout(NativeWebRequest webRequest, Callable<T> task) {
+                        cancelled.set(true);
+                        return RESULT_NONE;
+                    }
+
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        cancelled.set(true);
+                        if (claimed.compareAndSet(false, true)) {
+                            EventStreamLimiter.this.permits.release();
+                        }
+                    }
+                });
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .body(outputStream -> {
+                    if (!claimed.compareAndSet(false, true)) {
+                        return;
+                    }
+                    try {
+                        writer.write(outputStream, cancelled::get);
+                    } finally {
+                        this.permits.release();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    interface Writer {
+        void write(OutputStream outputStream, BooleanSupplier cancelled) throws IOException;
+    }
+}
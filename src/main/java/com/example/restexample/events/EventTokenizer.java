@@ -0,0 +1,61 @@
+package com.example.restexample.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 검색 색인과 검색어를 같은 규칙으로 자르는 토크나이저.
+ * 글자와 숫자가 이어진 구간을 한 덩어리로 보고, 한글은 조사가 붙어 쓰이므로 두 글자씩(바이그램) 자른다.
+ * 영문과 숫자는 소문자로 바꾼 단어 그대로 쓴다.
+ */
+final class EventTokenizer {
+    private EventTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        int start = -1;
+        boolean hangul = false;
+        // 마지막 구간도 같은 분기에서 끝내도록 한 글자 더 돈다.
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            boolean letter = Character.isLetterOrDigit(c);
+            boolean isHangul = letter && isHangul(c);
+            // 공백, 문장 부호, 그리고 한글과 영문이 바뀌는 곳에서 구간을 끊는다. "스프링boot" 는 "스프", "프링", "boot" 가 된다.
+            if (start >= 0 && (!letter || isHangul != hangul)) {
+                addRun(tokens, text, start, i, hangul);
+                start = -1;
+            }
+            if (letter && start < 0) {
+                start = i;
+                hangul = isHangul;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addRun(List<String> tokens, String text, int start, int end, boolean hangul) {
+        if (!hangul) {
+            tokens.add(text.substring(start, end).toLowerCase(Locale.ROOT));
+            return;
+        }
+        if (end - start == 1) {
+            tokens.add(text.substring(start, end));
+            return;
+        }
+        for (int i = start; i < end - 1; i++) {
+            tokens.add(text.substring(i, i + 2));
+        }
+    }
+
+    private static boolean isHangul(char c) {
+        return (c >= '가' && c <= '힣')
+                || (c >= 'ᄀ' && c <= 'ᇿ')
+                || (c >= '㄰' && c <= '㆏');
+    }
+}
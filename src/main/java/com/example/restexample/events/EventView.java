@@ -0,0 +1,66 @@
+package com.example.restexample.events;
+
+import com.example.restexample.accounts.Account;
+import com.example.restexample.accounts.AccountSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Getter;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.time.LocalDateTime;
+
+/**
+ * 목록 조회용 읽기 전용 이벤트.
+ * 영속성 컨텍스트에 올라가지 않으며 Event 와 같은 JSON 으로 직렬화된다.
+ */
+@Getter
+@Relation(collectionRelation = "eventList")
+public class EventView {
+    private final Integer id;
+    private final String name;
+    private final String description;
+    private final LocalDateTime beginEnrollmentDateTime;
+    private final LocalDateTime closeEnrollmentDateTime;
+    private final LocalDateTime beginEventDateTime;
+    private final LocalDateTime endEventDateTime;
+    private final String location;
+    private final int basePrice;
+    private final int maxPrice;
+    private final int limitOfEnrollment;
+    private final boolean offline;
+    private final boolean free;
+    private final EventStatus eventStatus;
+
+    @JsonSerialize(using = AccountSerializer.class)
+    private final Account manager;
+
+    public EventView(Integer id, String name, String description,
+                     LocalDateTime beginEnrollmentDateTime, LocalDateTime closeEnrollmentDateTime,
+                     LocalDateTime beginEventDateTime, LocalDateTime endEventDateTime,
+                     String location, int basePrice, int maxPrice, int limitOfEnrollment,
+                     boolean offline, boolean free, EventStatus eventStatus, Integer managerId) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.beginEnrollmentDateTime = beginEnrollmentDateTime;
+        this.closeEnrollmentDateTime = closeEnrollmentDateTime;
+        this.beginEventDateTime = beginEventDateTime;
+        this.endEventDateTime = endEventDateTime;
+        this.location = location;
+        this.basePrice = basePrice;
+        this.maxPrice = maxPrice;
+        this.limitOfEnrollment = limitOfEnrollment;
+        this.offline = offline;
+        this.free = free;
+        this.eventStatus = eventStatus;
+        this.manager = managerId == null ? null : Account.builder().id(managerId).build();
+    }
+
+    public static EventView of(Event event) {
+        return new EventView(event.getId(), event.getName(), event.getDescription(),
+                event.getBeginEnrollmentDateTime(), event.getCloseEnrollmentDateTime(),
+                event.getBeginEventDateTime(), event.getEndEventDateTime(),
+                event.getLocation(), event.getBasePrice(), event.getMaxPrice(), event.getLimitOfEnrollment(),
+                event.isOffline(), event.isFree(), event.getEventStatus(),
+                event.getManager() == null ? null : event.getManager().getId());
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.restexample.events;
+
+import org.springframework.hateoas.EntityModel;
+
+public class EventViewModel extends EntityModel<EventView> {
+
+    public EventViewModel(EventView eventView) {
+        super(eventView);
+        add(EventLinks.current().event(eventView.getId()).withSelfRel());
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.restexample.events;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * 조건이 동적으로 바뀌는 EventView 목록 조회. JPQL 로 고정할 수 없어서 Criteria 로 만든다.
+ */
+public interface EventViewQueries {
+    Page<EventView> findAllViews(Specification<Event> specification, Pageable pageable);
+
+    Slice<EventView> findViewSlice(Specification<Event> specification, Pageable pageable);
+}
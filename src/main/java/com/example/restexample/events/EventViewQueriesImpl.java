@@ -0,0 +1,66 @@
+package com.example.restexample.events;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import java.util.List;
+
+// EventRepository 의 SELECT_VIEW 와 같은 생성자 표현식을 Criteria 로 만든다.
+@Transactional(readOnly = true)
+class EventViewQueriesImpl implements EventViewQueries {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<EventView> findAllViews(Specification<Event> specification, Pageable pageable) {
+        List<EventView> content = select(specification, pageable, pageable.getPageSize());
+        // 마지막 페이지처럼 개수를 알 수 있으면 COUNT 쿼리를 건너뛴다.
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    @Override
+    public Slice<EventView> findViewSlice(Specification<Event> specification, Pageable pageable) {
+        List<EventView> content = select(specification, pageable, pageable.getPageSize() + 1);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    private List<EventView> select(Specification<Event> specification, Pageable pageable, int maxResults) {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventView> query = cb.createQuery(EventView.class);
+        Root<Event> root = query.from(Event.class);
+        query.select(cb.construct(EventView.class,
+                root.get("id"), root.get("name"), root.get("description"),
+                root.get("beginEnrollmentDateTime"), root.get("closeEnrollmentDateTime"),
+                root.get("beginEventDateTime"), root.get("endEventDateTime"),
+                root.get("location"), root.get("basePrice"), root.get("maxPrice"), root.get("limitOfEnrollment"),
+                root.get("offline"), root.get("free"), root.get("eventStatus"), root.get("manager").get("id")));
+        query.where(specification.toPredicate(root, query, cb));
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        return this.entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(maxResults)
+                .getResultList();
+    }
+
+    private long count(Specification<Event> specification) {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Event> root = query.from(Event.class);
+        query.select(cb.count(root));
+        query.where(specification.toPredicate(root, query, cb));
+        return this.entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.restexample.throttling;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 동시에 처리하는 요청 수를 응답 시간에 맞춰 조절한다. Netflix concurrency-limits 의 Gradient2 를 따른다.
+ * 최근 응답 시간이 평소(장기 평균)보다 길어지면 그 비율만큼 한도를 줄이고, 그렇지 않으면 √한도 만큼 늘린다.
+ * 한도를 넘는 요청은 기다리게 하지 않고 바로 거절한다.
+ */
+public class ConcurrencyLimiter {
+    // 최근 응답 시간은 요청 20 개의 평균이다.
+    static final int WINDOW_SIZE = 20;
+    // 장기 평균은 창 30 개(요청 600 개)에 걸친 지수 이동 평균이다.
+    private static final int LONG_WINDOWS = 30;
+    // 최근 응답 시간이 평소의 1.5 배가 될 때까지는 줄이지 않는다.
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // 아래 필드는 this 로 동기화한다. 창 하나가 찰 때만 한도를 다시 계산하므로 잠금은 짧다.
+    private double estimatedLimit;
+    private double longRttNanos;
+    private long windowRttNanos;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    public ConcurrencyLimiter(int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = maxLimit;
+        this.limit = maxLimit;
+    }
+
+    /**
+     * @return 한도 안이면 true. 이때는 반드시 release 를 불러야 한다.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = this.inFlight.get();
+            if (current >= this.limit) {
+                return false;
+            }
+            if (this.inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 처리를 끝낸 요청을 내보내고 걸린 시간을 한도 계산에 반영한다.
+     */
+    public void release(long rttNanos) {
+        int current = this.inFlight.getAndDecrement();
+        synchronized (this) {
+            this.windowRttNanos += rttNanos;
+            this.windowMaxInFlight = Math.max(this.windowMaxInFlight, current);
+            if (++this.windowSamples < WINDOW_SIZE) {
+                return;
+            }
+            update(this.windowRttNanos / (double) this.windowSamples, this.windowMaxInFlight);
+            this.windowRttNanos = 0;
+            this.windowSamples = 0;
+            this.windowMaxInFlight = 0;
+        }
+    }
+
+    /**
+     * 처리하지 못한 요청을 내보낸다. 걸린 시간은 반영하지 않는다.
+     */
+    public void release() {
+        this.inFlight.decrementAndGet();
+    }
+
+    private void update(double shortRttNanos, int maxInFlight) {
+        if (this.longRttNanos == 0) {
+            this.longRttNanos = shortRttNanos;
+        } else {
+            this.longRttNanos += (shortRttNanos - this.longRttNanos) / LONG_WINDOWS;
+        }
+        // 평소보다 훨씬 빨라졌으면 장기 평균을 빨리 끌어내려서, 다시 느려질 때 늦게 반응하지 않게 한다.
+        if (this.longRttNanos > shortRttNanos * 2) {
+            this.longRttNanos *= 0.95;
+        }
+        // 한도의 절반도 쓰지 않았다면 응답 시간이 한도에 대해 알려 주는 것이 없다.
+        if (maxInFlight < this.estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * this.longRttNanos / shortRttNanos));
+        double newLimit = this.estimatedLimit * gradient + Math.sqrt(this.estimatedLimit);
+        newLimit = this.estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        this.estimatedLimit = Math.max(this.minLimit, Math.min(this.maxLimit, newLimit));
+        this.limit = (int) this.estimatedLimit;
+    }
+
+    public int getLimit() {
+        return this.limit;
+    }
+
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+}
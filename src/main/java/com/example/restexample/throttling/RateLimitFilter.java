@@ -0,0 +1,128 @@
+package com.example.restexample.throttling;
+
+import com.example.restexample.configs.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.authentication.BearerTokenExtractor;
+import org.springframework.security.oauth2.provider.authentication.TokenExtractor;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * /api/** 와 /oauth/token 요청 수를 클라이언트마다 제한한다. 넘치면 429 와 Retry-After 로 응답한다.
+ * 비밀번호 해시와 DB 조회보다 먼저 거르도록 Spring Security 필터 체인 앞에 둔다.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class RateLimitFilter extends OncePerRequestFilter {
+    enum Group {
+        TOKEN("token"), API_READ("api-read"), API_WRITE("api-write");
+
+        private final String tag;
+
+        Group(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+    private final TokenStore tokenStore;
+    private final TokenExtractor tokenExtractor = new BearerTokenExtractor();
+    private final Map<Group, RateLimiter> rateLimiters = new EnumMap<>(Group.class);
+    private final Map<Group, Counter> rejections = new EnumMap<>(Group.class);
+    private final boolean enabled;
+
+    public RateLimitFilter(AppProperties appProperties, TokenStore tokenStore, MeterRegistry meterRegistry) {
+        this.tokenStore = tokenStore;
+        this.enabled = appProperties.isRateLimitEnabled();
+        long maximumKeys = appProperties.getRateLimitMaximumKeys();
+        this.rateLimiters.put(Group.TOKEN, new RateLimiter(
+                appProperties.getTokenRateLimit(), appProperties.getTokenRateLimitBurst(), maximumKeys));
+        this.rateLimiters.put(Group.API_READ, new RateLimiter(
+                appProperties.getApiReadRateLimit(), appProperties.getApiReadRateLimitBurst(), maximumKeys));
+        this.rateLimiters.put(Group.API_WRITE, new RateLimiter(
+                appProperties.getApiWriteRateLimit(), appProperties.getApiWriteRateLimitBurst(), maximumKeys));
+
+        this.rateLimiters.forEach((group, rateLimiter) -> {
+            this.rejections.put(group, Counter.builder("rate.limit.rejections")
+                    .tag("group", group.tag)
+                    .register(meterRegistry));
+            Gauge.builder("rate.limit.keys", rateLimiter, RateLimiter::estimatedSize)
+                    .tag("group", group.tag)
+                    .register(meterRegistry);
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !this.enabled || group(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Group group = group(request);
+        Duration wait = this.rateLimiters.get(group).tryAcquire(key(group, request));
+        if (wait.isZero()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        this.rejections.get(group).increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        // 초 단위로 올림한다.
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(wait.plusSeconds(1).minusNanos(1).getSeconds()));
+    }
+
+    private static Group group(HttpServletRequest request) {
+        String path = URL_PATH_HELPER.getPathWithinApplication(request);
+        if (path.equals("/oauth/token")) {
+            return Group.TOKEN;
+        }
+        if (!path.startsWith("/api/")) {
+            return null;
+        }
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())
+                ? Group.API_READ
+                : Group.API_WRITE;
+    }
+
+    /**
+     * 유효한 액세스 토큰이 있으면 계정(클라이언트 전용 토큰이면 클라이언트), 없으면 IP 가 키다.
+     * 토큰 발급은 아직 인증 전이고 모든 사용자가 같은 클라이언트 id 를 쓰므로 IP 로만 나눈다.
+     */
+    private String key(Group group, HttpServletRequest request) {
+        if (group != Group.TOKEN) {
+            Authentication bearer = this.tokenExtractor.extract(request);
+            OAuth2Authentication authentication = bearer == null
+                    ? null
+                    : this.tokenStore.readAuthentication((String) bearer.getPrincipal());
+            if (authentication != null) {
+                return authentication.isClientOnly()
+                        ? "client:" + authentication.getOAuth2Request().getClientId()
+                        : "account:" + authentication.getName();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.restexample.throttling;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 키마다 초당 요청 수를 제한하는 토큰 버킷. GCRA(Generic Cell Rate Algorithm) 로 구현한다.
+ * 키마다 토큰 개수 대신 버킷이 비는 이론상 시각(TAT) 하나만 두고 CAS 로 갱신하므로 잠그지 않는다.
+ * 키 표는 크기로 제한된다. 버킷이 다시 가득 찰 만큼 요청이 없던 키는 지워도 결과가 같으므로 그때 내보낸다.
+ */
+public class RateLimiter {
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final Ticker ticker;
+    private final Cache<String, AtomicLong> buckets;
+
+    /**
+     * @param permitsPerSecond 버킷이 채워지는 속도
+     * @param burst 쉬고 난 뒤 한꺼번에 허용하는 요청 수
+     * @param maximumKeys 기억하는 키의 최대 개수
+     */
+    public RateLimiter(double permitsPerSecond, int burst, long maximumKeys) {
+        this(permitsPerSecond, burst, maximumKeys, Ticker.systemTicker());
+    }
+
+    RateLimiter(double permitsPerSecond, int burst, long maximumKeys, Ticker ticker) {
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstNanos = this.emissionIntervalNanos * burst;
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(this.burstNanos, TimeUnit.NANOSECONDS)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * key 의 버킷에서 요청 하나를 꺼낸다.
+     * @return 허용하면 Duration.ZERO. 거절하면 다음 요청이 허용될 때까지 남은 시간
+     */
+    public Duration tryAcquire(String key) {
+        long now = this.ticker.read();
+        AtomicLong theoreticalArrivalTime = this.buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = theoreticalArrivalTime.get();
+            long next = Math.max(current, now) + this.emissionIntervalNanos;
+            long wait = next - now - this.burstNanos;
+            if (wait > 0) {
+                // 거절한 요청은 버킷을 쓰지 않으므로 계속 두드려도 대기 시간이 늘지 않는다.
+                return Duration.ofNanos(wait);
+            }
+            if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    public long estimatedSize() {
+        return this.buckets.estimatedSize();
+    }
+
+    void cleanUp() {
+        this.buckets.cleanUp();
+    }
+}
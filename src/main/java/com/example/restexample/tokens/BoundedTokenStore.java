@@ -0,0 +1,306 @@
+package com.example.restexample.tokens;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.common.ExpiringOAuth2RefreshToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2RefreshToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.AuthenticationKeyGenerator;
+import org.springframework.security.oauth2.provider.token.DefaultAuthenticationKeyGenerator;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 메모리에 두는 토큰 저장소.
+ * InMemoryTokenStore 와 달리 토큰 수에 상한이 있고, 만료된 토큰은 타이머 휠로 바로 지운다.
+ * 상한을 넘으면 가장 먼저 만료될 토큰부터 내보낸다.
+ */
+public class BoundedTokenStore implements TokenStore, MeterBinder {
+    private static final long TICK_MILLIS = 1000;
+    // 한 바퀴가 약 68분으로 리프레시 토큰 유효 기간을 덮는다.
+    private static final int BUCKET_COUNT = 4096;
+
+    private final int maximumSize;
+    private final Clock clock;
+    private final AuthenticationKeyGenerator authenticationKeyGenerator = new DefaultAuthenticationKeyGenerator();
+
+    // ConcurrentHashMap 은 버킷 단위로 잠그므로 따로 샤드를 나누지 않는다.
+    private final Map<String, AccessEntry> accessTokens = new ConcurrentHashMap<>();
+    private final Map<String, AccessEntry> accessTokensByAuthentication = new ConcurrentHashMap<>();
+    private final Map<String, String> accessTokenValuesByRefreshToken = new ConcurrentHashMap<>();
+    private final Map<String, RefreshEntry> refreshTokens = new ConcurrentHashMap<>();
+
+    private final TimerWheel accessTokenWheel;
+    private final TimerWheel refreshTokenWheel;
+
+    private final LongAdder expiredAccessTokens = new LongAdder();
+    private final LongAdder expiredRefreshTokens = new LongAdder();
+    private final LongAdder evictedAccessTokens = new LongAdder();
+    private final LongAdder evictedRefreshTokens = new LongAdder();
+
+    public BoundedTokenStore(int maximumSize) {
+        this(maximumSize, Clock.systemUTC());
+    }
+
+    BoundedTokenStore(int maximumSize, Clock clock) {
+        this.maximumSize = maximumSize;
+        this.clock = clock;
+        this.accessTokenWheel = new TimerWheel(TICK_MILLIS, BUCKET_COUNT, clock.millis());
+        this.refreshTokenWheel = new TimerWheel(TICK_MILLIS, BUCKET_COUNT, clock.millis());
+    }
+
+    @Override
+    public OAuth2Authentication readAuthentication(OAuth2AccessToken token) {
+        return readAuthentication(token.getValue());
+    }
+
+    @Override
+    public OAuth2Authentication readAuthentication(String token) {
+        AccessEntry entry = this.accessTokens.get(token);
+        return entry == null ? null : entry.authentication;
+    }
+
+    @Override
+    public void storeAccessToken(OAuth2AccessToken token, OAuth2Authentication authentication) {
+        OAuth2RefreshToken refreshToken = token.getRefreshToken();
+        AccessEntry entry = new AccessEntry(token, authentication,
+                this.authenticationKeyGenerator.extractKey(authentication),
+                refreshToken == null ? null : refreshToken.getValue());
+
+        // 색인을 먼저 채워야 본 저장소에서 바로 지워지더라도 색인에 남지 않는다.
+        this.accessTokensByAuthentication.put(entry.authenticationKey, entry);
+        if (entry.refreshTokenValue != null) {
+            this.accessTokenValuesByRefreshToken.put(entry.refreshTokenValue, token.getValue());
+        }
+        AccessEntry previous = this.accessTokens.put(token.getValue(), entry);
+        if (previous != null) {
+            this.accessTokenWheel.cancel(previous);
+        }
+        this.accessTokenWheel.schedule(entry);
+
+        int overflow = this.accessTokens.size() - this.maximumSize;
+        if (overflow > 0) {
+            this.evictedAccessTokens.add(this.accessTokenWheel.evict(overflow, this.clock.millis()));
+        }
+    }
+
+    @Override
+    public OAuth2AccessToken readAccessToken(String tokenValue) {
+        AccessEntry entry = this.accessTokens.get(tokenValue);
+        return entry == null ? null : entry.token;
+    }
+
+    @Override
+    public void removeAccessToken(OAuth2AccessToken token) {
+        AccessEntry entry = this.accessTokens.get(token.getValue());
+        if (entry != null && entry.remove()) {
+            this.accessTokenWheel.cancel(entry);
+        }
+    }
+
+    @Override
+    public void storeRefreshToken(OAuth2RefreshToken refreshToken, OAuth2Authentication authentication) {
+        RefreshEntry entry = new RefreshEntry(refreshToken, authentication);
+
+        RefreshEntry previous = this.refreshTokens.put(refreshToken.getValue(), entry);
+        if (previous != null) {
+            this.refreshTokenWheel.cancel(previous);
+        }
+        this.refreshTokenWheel.schedule(entry);
+
+        int overflow = this.refreshTokens.size() - this.maximumSize;
+        if (overflow > 0) {
+            this.evictedRefreshTokens.add(this.refreshTokenWheel.evict(overflow, this.clock.millis()));
+        }
+    }
+
+    @Override
+    public OAuth2RefreshToken readRefreshToken(String tokenValue) {
+        RefreshEntry entry = this.refreshTokens.get(tokenValue);
+        return entry == null ? null : entry.token;
+    }
+
+    @Override
+    public OAuth2Authentication readAuthenticationForRefreshToken(OAuth2RefreshToken token) {
+        RefreshEntry entry = this.refreshTokens.get(token.getValue());
+        return entry == null ? null : entry.authentication;
+    }
+
+    @Override
+    public void removeRefreshToken(OAuth2RefreshToken token) {
+        RefreshEntry entry = this.refreshTokens.get(token.getValue());
+        if (entry != null && entry.remove()) {
+            this.refreshTokenWheel.cancel(entry);
+        }
+    }
+
+    @Override
+    public void removeAccessTokenUsingRefreshToken(OAuth2RefreshToken refreshToken) {
+        String accessTokenValue = this.accessTokenValuesByRefreshToken.remove(refreshToken.getValue());
+        if (accessTokenValue == null) {
+            return;
+        }
+
+        AccessEntry entry = this.accessTokens.get(accessTokenValue);
+        if (entry != null && entry.remove()) {
+            this.accessTokenWheel.cancel(entry);
+        }
+    }
+
+    @Override
+    public OAuth2AccessToken getAccessToken(OAuth2Authentication authentication) {
+        String key = this.authenticationKeyGenerator.extractKey(authentication);
+        AccessEntry entry = this.accessTokensByAuthentication.get(key);
+        if (entry == null) {
+            return null;
+        }
+        // 동시에 저장된 다른 토큰에 덮여 지워진 토큰이면 색인만 정리한다.
+        if (this.accessTokens.get(entry.token.getValue()) != entry) {
+            this.accessTokensByAuthentication.remove(key, entry);
+            return null;
+        }
+        return entry.token;
+    }
+
+    // 아래 두 조회는 관리용이라 드물게 불리므로 사용자별, 클라이언트별 색인을 따로 두지 않고 전체를 훑는다.
+    @Override
+    public Collection<OAuth2AccessToken> findTokensByClientIdAndUserName(String clientId, String userName) {
+        return this.accessTokens.values().stream()
+                .filter(entry -> clientId.equals(entry.authentication.getOAuth2Request().getClientId()))
+                .filter(entry -> !entry.authentication.isClientOnly()
+                        && Objects.equals(userName, entry.authentication.getUserAuthentication().getName()))
+                .map(entry -> entry.token)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<OAuth2AccessToken> findTokensByClientId(String clientId) {
+        return this.accessTokens.values().stream()
+                .filter(entry -> clientId.equals(entry.authentication.getOAuth2Request().getClientId()))
+                .map(entry -> entry.token)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 지난 틱 동안 만료된 토큰을 지운다.
+     */
+    @Scheduled(fixedDelay = TICK_MILLIS)
+    public void expire() {
+        long now = this.clock.millis();
+        this.expiredAccessTokens.add(this.accessTokenWheel.advance(now));
+        this.expiredRefreshTokens.add(this.refreshTokenWheel.advance(now));
+    }
+
+    int accessTokenCount() {
+        return this.accessTokens.size();
+    }
+
+    int refreshTokenCount() {
+        return this.refreshTokens.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("oauth2.tokens.live", this.accessTokens, Map::size)
+                .tag("type", "access")
+                .description("The number of access tokens in the store")
+                .register(registry);
+        Gauge.builder("oauth2.tokens.live", this.refreshTokens, Map::size)
+                .tag("type", "refresh")
+                .description("The number of refresh tokens in the store")
+                .register(registry);
+        FunctionCounter.builder("oauth2.tokens.expired", this.expiredAccessTokens, LongAdder::sum)
+                .tag("type", "access")
+                .register(registry);
+        FunctionCounter.builder("oauth2.tokens.expired", this.expiredRefreshTokens, LongAdder::sum)
+                .tag("type", "refresh")
+                .register(registry);
+        FunctionCounter.builder("oauth2.tokens.evicted", this.evictedAccessTokens, LongAdder::sum)
+                .tag("type", "access")
+                .description("The number of live tokens dropped to stay within the maximum size")
+                .register(registry);
+        FunctionCounter.builder("oauth2.tokens.evicted", this.evictedRefreshTokens, LongAdder::sum)
+                .tag("type", "refresh")
+                .description("The number of live tokens dropped to stay within the maximum size")
+                .register(registry);
+    }
+
+    private static long expiresAt(Date expiration) {
+        return expiration == null ? Long.MAX_VALUE : expiration.getTime();
+    }
+
+    private final class AccessEntry implements TimerWheel.Entry {
+        private final OAuth2AccessToken token;
+        private final OAuth2Authentication authentication;
+        private final String authenticationKey;
+        private final String refreshTokenValue;
+        private final long expiresAt;
+
+        private AccessEntry(OAuth2AccessToken token, OAuth2Authentication authentication,
+                            String authenticationKey, String refreshTokenValue) {
+            this.token = token;
+            this.authentication = authentication;
+            this.authenticationKey = authenticationKey;
+            this.refreshTokenValue = refreshTokenValue;
+            this.expiresAt = expiresAt(token.getExpiration());
+        }
+
+        @Override
+        public long getExpiresAt() {
+            return this.expiresAt;
+        }
+
+        @Override
+        public boolean remove() {
+            // 같은 값으로 다시 저장된 토큰은 지우지 않도록 자기 자신일 때만 지운다.
+            if (!accessTokens.remove(this.token.getValue(), this)) {
+                return false;
+            }
+            accessTokensByAuthentication.remove(this.authenticationKey, this);
+            if (this.refreshTokenValue != null) {
+                accessTokenValuesByRefreshToken.remove(this.refreshTokenValue, this.token.getValue());
+            }
+            return true;
+        }
+    }
+
+    private final class RefreshEntry implements TimerWheel.Entry {
+        private final OAuth2RefreshToken token;
+        private final OAuth2Authentication authentication;
+        private final long expiresAt;
+
+        private RefreshEntry(OAuth2RefreshToken token, OAuth2Authentication authentication) {
+            this.token = token;
+            this.authentication = authentication;
+            this.expiresAt = token instanceof ExpiringOAuth2RefreshToken
+                    ? expiresAt(((ExpiringOAuth2RefreshToken) token).getExpiration())
+                    : Long.MAX_VALUE;
+        }
+
+        @Override
+        public long getExpiresAt() {
+            return this.expiresAt;
+        }
+
+        @Override
+        public boolean remove() {
+            if (!refreshTokens.remove(this.token.getValue(), this)) {
+                return false;
+            }
+            accessTokenValuesByRefreshToken.remove(this.token.getValue());
+            return true;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.restexample.tokens;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 만료 시각으로 항목을 버킷에 나눠 담는 해시 타이머 휠.
+ * 한 틱이 지날 때마다 그 틱의 버킷만 훑으므로 전체 항목을 정렬하거나 순회하지 않는다.
+ */
+final class TimerWheel {
+    interface Entry {
+        long getExpiresAt();
+
+        /**
+         * 저장소에서 항목을 지운다.
+         * @return 아직 저장소에 남아 있어서 실제로 지웠다면 true
+         */
+        boolean remove();
+    }
+
+    private final long tickMillis;
+    private final Queue<Entry>[] buckets;
+
+    // advance 와 evict 는 this 로 동기화한다. schedule 과 cancel 은 잠그지 않는다.
+    private volatile long currentTick;
+    // advance 가 지나간 뒤에 들어와서 schedule 이 바로 만료시킨 항목 수. 다음 advance 결과에 더한다.
+    private int expiredOnSchedule;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    TimerWheel(long tickMillis, int bucketCount, long now) {
+        this.tickMillis = tickMillis;
+        this.buckets = new Queue[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            this.buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.currentTick = now / tickMillis;
+    }
+
+    void schedule(Entry entry) {
+        long tick = entry.getExpiresAt() / this.tickMillis;
+        bucketOf(tick).add(entry);
+        // advance 가 이미 훑고 지나간 틱이면 다음 바퀴까지 남지 않도록 바로 만료시킨다.
+        if (tick < this.currentTick) {
+            expireOnSchedule(tick, entry);
+        }
+    }
+
+    void cancel(Entry entry) {
+        bucketOf(entry.getExpiresAt() / this.tickMillis).remove(entry);
+    }
+
+    /**
+     * 지난 틱의 버킷들에서 만료된 항목을 지운다.
+     * @return 만료시켜 지운 항목 수
+     */
+    synchronized int advance(long now) {
+        long targetTick = now / this.tickMillis;
+        // 한 바퀴 넘게 밀렸어도 모든 버킷을 한 번씩만 보면 된다.
+        long fromTick = Math.max(this.currentTick, targetTick - this.buckets.length + 1);
+
+        int expired = this.expiredOnSchedule;
+        this.expiredOnSchedule = 0;
+        for (long tick = fromTick; tick <= targetTick; tick++) {
+            Iterator<Entry> iterator = bucketOf(tick).iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                // 같은 버킷에 있어도 다음 바퀴에 만료될 항목은 남겨둔다.
+                if (entry.getExpiresAt() <= now) {
+                    iterator.remove();
+                    if (entry.remove()) {
+                        expired++;
+                    }
+                }
+            }
+        }
+        this.currentTick = targetTick;
+        return expired;
+    }
+
+    /**
+     * 곧 만료될 항목부터 count 개를 지운다.
+     * 첫 바퀴에서는 휠 한 바퀴 안에 만료될 항목만, 그래도 모자라면 나머지 항목을 지운다.
+     * @return 실제로 지운 항목 수
+     */
+    synchronized int evict(int count, long now) {
+        long horizon = now + this.tickMillis * this.buckets.length;
+
+        int evicted = 0;
+        for (int pass = 0; pass < 2 && evicted < count; pass++) {
+            for (int i = 0; i < this.buckets.length && evicted < count; i++) {
+                Iterator<Entry> iterator = bucketOf(this.currentTick + i).iterator();
+                while (iterator.hasNext() && evicted < count) {
+                    Entry entry = iterator.next();
+                    if (pass == 0 && entry.getExpiresAt() >= horizon) {
+                        continue;
+                    }
+                    iterator.remove();
+                    if (entry.remove()) {
+                        evicted++;
+                    }
+                }
+            }
+        }
+        return evicted;
+    }
+
+    private synchronized void expireOnSchedule(long tick, Entry entry) {
+        // 버킷에 아직 있으면 advance 가 보지 못한 것이다.
+        if (bucketOf(tick).remove(entry) && entry.remove()) {
+            this.expiredOnSchedule++;
+        }
+    }
+
+    private Queue<Entry> bucketOf(long tick) {
+        return this.buckets[(int) Math.floorMod(tick, (long) this.buckets.length)];
+    }
+}
@@ -1,19 +1,27 @@
 package com.example.restexample.accounts;
 
+import com.example.restexample.configs.AppProperties;
 import org.hamcrest.Matchers;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.CredentialsContainer;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -34,6 +42,15 @@ public class AccountServiceTest {
     @Autowired
     PasswordEncoder passwordEncoder;
 
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    AuthenticationManager authenticationManager;
+
+    @Autowired
+    AppProperties appProperties;
+
     @Test
     public void findByUsername() {
         // Given
@@ -54,6 +71,74 @@ public class AccountServiceTest {
         assertThat(this.passwordEncoder.matches(password, userDetails.getPassword())).isTrue();
     }
 
+    @Test
+    public void findByUsernameFromCache() {
+        // Given
+        String password = "test";
+        String username = "cached@sample.com";
+        this.accountService.saveAccount(Account.builder()
+                .email(username)
+                .password(password)
+                .roles(Set.of(AccountRole.USER))
+                .build());
+        this.accountService.loadUserByUsername(username);
+
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        UserDetails first = this.accountService.loadUserByUsername(username);
+        ((CredentialsContainer) first).eraseCredentials();
+        UserDetails second = this.accountService.loadUserByUsername(username);
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        assertThat(this.passwordEncoder.matches(password, second.getPassword())).isTrue();
+    }
+
+    @Test
+    public void saveAccountInvalidatesCache() {
+        // Given
+        String username = "changed@sample.com";
+        Account account = this.accountService.saveAccount(Account.builder()
+                .email(username)
+                .password("before")
+                .roles(Set.of(AccountRole.USER))
+                .build());
+        this.accountService.loadUserByUsername(username);
+
+        // When
+        account.setPassword("after");
+        this.accountService.saveAccount(account);
+
+        // Then
+        UserDetails userDetails = this.accountService.loadUserByUsername(username);
+        assertThat(this.passwordEncoder.matches("after", userDetails.getPassword())).isTrue();
+    }
+
+    @Test
+    public void rehashPasswordWithConfiguredStrengthOnLogin() {
+        // Given
+        String username = "rehash@sample.com";
+        String password = "password";
+        this.accountRepository.save(Account.builder()
+                .email(username)
+                .password("{bcrypt}" + new BCryptPasswordEncoder(4).encode(password))
+                .roles(Set.of(AccountRole.USER))
+                .build());
+
+        // When
+        this.authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password));
+
+        // Then
+        String rehashed = this.accountRepository.findByEmail(username).orElseThrow().getPassword();
+        assertThat(rehashed).startsWith(String.format("{bcrypt}$2a$%02d$", this.appProperties.getPasswordEncoderStrength()));
+        assertThat(this.passwordEncoder.upgradeEncoding(rehashed)).isFalse();
+        assertThat(this.passwordEncoder.matches(password, this.accountService.loadUserByUsername(username).getPassword())).isTrue();
+    }
+
     @Test
     public void findByUsernameFail() {
         // expected
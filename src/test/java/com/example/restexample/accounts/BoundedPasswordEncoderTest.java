@@ -0,0 +1,99 @@
+package com.example.restexample.accounts;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        this.release.countDown();
+        this.passwordEncoder.destroy();
+    }
+
+    @Test
+    void delegatesToWorkerThread() {
+        // Given
+        this.passwordEncoder = new BoundedPasswordEncoder(new ThreadRecordingEncoder(), 1, 1, Duration.ofSeconds(5));
+
+        // When
+        String encoded = this.passwordEncoder.encode("password");
+
+        // Then
+        assertThat(encoded).startsWith("password-encoder-1:");
+        assertThat(this.passwordEncoder.matches("password", encoded)).isTrue();
+        assertThat(this.passwordEncoder.matches("wrong", encoded)).isFalse();
+    }
+
+    @Test
+    void rejectsImmediatelyWhenQueueIsFull() throws Exception {
+        // Given
+        this.passwordEncoder = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, Duration.ofSeconds(5));
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> this.passwordEncoder.encode("running"));
+        this.started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> this.passwordEncoder.encode("queued"));
+        Thread.sleep(100);
+
+        // When & Then
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> this.passwordEncoder.encode("rejected"))
+                .isInstanceOf(PasswordEncodingRejectedException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+
+        this.release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("running");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+    }
+
+    @Test
+    void rejectsWhenHashingTimesOut() {
+        // Given
+        this.passwordEncoder = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, Duration.ofMillis(100));
+
+        // When & Then
+        assertThatThrownBy(() -> this.passwordEncoder.matches("password", "password"))
+                .isInstanceOf(PasswordEncodingRejectedException.class);
+    }
+
+    private static class ThreadRecordingEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return Thread.currentThread().getName() + ":" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.endsWith(":" + rawPassword);
+        }
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.restexample.configs;
+
+import com.example.restexample.accounts.Account;
+import com.example.restexample.accounts.AccountRepository;
+import com.example.restexample.accounts.AccountRole;
+import com.example.restexample.accounts.AccountService;
+import com.example.restexample.common.BaseControllerTest;
+import com.example.restexample.common.TestDescription;
+import com.example.restexample.events.EventDto;
+import com.example.restexample.events.EventRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMetrics
+public class MetricsConfigTest extends BaseControllerTest {
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    AppProperties appProperties;
+
+    @Before
+    public void setUp() {
+        this.eventRepository.deleteAll();
+        this.accountRepository.deleteAll();
+    }
+
+    @Test
+    @TestDescription("이벤트를 만들고 조회한 단계별 시간을 프로메테우스 엔드포인트로 확인하는 테스트")
+    public void exposeStageTimers() throws Exception {
+        this.accountService.saveAccount(Account.builder()
+                .email(appProperties.getUserUsername())
+                .password(appProperties.getUserPassword())
+                .roles(Set.of(AccountRole.ADMIN, AccountRole.USER))
+                .build());
+
+        String responseBody = this.mockMvc.perform(post("/oauth/token")
+                    .with(httpBasic(appProperties.getClientId(), appProperties.getClientSecret()))
+                    .param("username", appProperties.getUserUsername())
+                    .param("password", appProperties.getUserPassword())
+                    .param("grant_type", "password"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String accessToken = new Jackson2JsonParser().parseMap(responseBody).get("access_token").toString();
+
+        EventDto event = EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 12, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 23, 0))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 10, 0))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 25, 20, 0))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타트업 팩토리")
+                .build();
+        MvcResult created = this.mockMvc.perform(post("/api/events/")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaTypes.HAL_JSON)
+                    .content(objectMapper.writeValueAsString(event)))
+                .andReturn();
+        this.mockMvc.perform(asyncDispatch(created))
+                .andExpect(status().isCreated());
+
+        this.mockMvc.perform(get("/actuator/prometheus")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{exception=\"None\",method=\"save\",repository=\"EventRepository\"")))
+                .andExpect(content().string(containsString("events_validation_seconds_bucket")))
+                .andExpect(content().string(containsString("events_mapping_seconds_bucket")))
+                .andExpect(content().string(containsString("hal_serialization_seconds_bucket{type=\"EventEntityModel\"")))
+                .andExpect(content().string(containsString("oauth2_token_issue_seconds_bucket{grant_type=\"password\",outcome=\"success\"")))
+        ;
+    }
+
+    @Test
+    @TestDescription("인증 없이 프로메테우스 엔드포인트를 조회하면 401 을 받는 테스트")
+    public void prometheusRequiresAuthentication() throws Exception {
+        this.mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @TestDescription("인증 없이 헬스 체크를 조회하는 테스트")
+    public void healthIsAnonymous() throws Exception {
+        this.mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.restexample.enrollments;
+
+import com.example.restexample.accounts.Account;
+import com.example.restexample.accounts.AccountRepository;
+import com.example.restexample.accounts.AccountRole;
+import com.example.restexample.accounts.AccountService;
+import com.example.restexample.common.BaseControllerTest;
+import com.example.restexample.common.TestDescription;
+import com.example.restexample.configs.AppProperties;
+import com.example.restexample.events.Event;
+import com.example.restexample.events.EventDto;
+import com.example.restexample.events.EventRepository;
+import com.example.restexample.events.EventStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.restdocs.headers.HeaderDocumentation.headerWithName;
+import static org.springframework.restdocs.headers.HeaderDocumentation.requestHeaders;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.links;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.relaxedResponseFields;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+import static org.springframework.restdocs.request.RequestDocumentation.pathParameters;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class EnrollmentControllerTests extends BaseControllerTest {
+    @Autowired
+    EnrollmentService enrollmentService;
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    SeatBlockRepository seatBlockRepository;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    AppProperties appProperties;
+
+    @Before
+    @After
+    public void cleanUp() {
+        // 등록과 좌석 묶음이 이벤트와 계정을 참조하므로 먼저 지운다.
+        this.enrollmentRepository.deleteAll();
+        this.seatBlockRepository.deleteAll();
+        this.eventRepository.deleteAll();
+        this.accountRepository.deleteAll();
+    }
+
+    @Test
+    @TestDescription("이벤트에 등록하는 테스트")
+    public void createEnrollment() throws Exception {
+        // Given
+        String bearerToken = getBearerToken();
+        Event event = generateEvent(EventStatus.PUBLISHED, 10);
+
+        // When & Then
+        this.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                    .accept(MediaTypes.HAL_JSON))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("id").exists())
+                .andExpect(jsonPath("account.id").exists())
+                .andExpect(jsonPath("enrolledAt").exists())
+                .andExpect(jsonPath("_links.event").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("create-enrollment",
+                        pathParameters(
+                                parameterWithName("eventId").description("등록할 이벤트의 id")
+                        ),
+                        requestHeaders(
+                                headerWithName(HttpHeaders.AUTHORIZATION).description("bearer 액세스 토큰"),
+                                headerWithName(HttpHeaders.ACCEPT).description("accept header")
+                        ),
+                        links(
+                                linkWithRel("event").description("등록한 이벤트"),
+                                linkWithRel("profile").description("link to profile")
+                        ),
+                        relaxedResponseFields(
+                                fieldWithPath("id").description("등록 id"),
+                                fieldWithPath("account.id").description("등록한 계정 id"),
+                                fieldWithPath("enrolledAt").description("등록한 시각")
+                        )
+                ));
+    }
+
+    @Test
+    @TestDescription("같은 이벤트에 두 번 등록하면 409 응답받기")
+    public void createEnrollmentTwice() throws Exception {
+        // Given
+        String bearerToken = getBearerToken();
+        Event event = generateEvent(EventStatus.PUBLISHED, 10);
+        this.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isCreated());
+
+        // When & Then
+        this.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("errors[0].code").value("alreadyEnrolled"))
+                .andExpect(jsonPath("_links.index").exists());
+    }
+
+    @Test
+    @TestDescription("좌석이 모두 찬 이벤트에 등록하면 409 응답받기")
+    public void createEnrollmentSoldOut() throws Exception {
+        // Given
+        Event event = generateEvent(EventStatus.PUBLISHED, 1);
+        Account other = this.accountRepository.save(Account.builder()
+                .email("other@email.com")
+                .password("pass")
+                .roles(Set.of(AccountRole.USER))
+                .build());
+        this.enrollmentService.enroll(event.getId(), other);
+
+        // When & Then
+        this.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, getBearerToken()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("errors[0].code").value("soldOut"));
+    }
+
+    @Test
+    @TestDescription("공개되지 않은 이벤트에 등록하면 409 응답받기")
+    public void createEnrollmentDraft() throws Exception {
+        // Given
+        Event event = generateEvent(EventStatus.DRAFT, 10);
+
+        // When & Then
+        this.perform(post("/api/events/{eventId}/enrollments", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, getBearerToken()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("errors[0].code").value("enrollmentClosed"));
+    }
+
+    @Test
+    @TestDescription("API 로 만든 이벤트를 공개한 뒤에 등록하는 테스트")
+    public void createEnrollmentAfterPublish() throws Exception {
+        // Given : 지금 등록 기간인 이벤트를 API 로 만들면 DRAFT 다.
+        String bearerToken = getBearerToken();
+        LocalDateTime now = LocalDateTime.now();
+        EventDto eventDto = EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(now.minusDays(1))
+                .closeEnrollmentDateTime(now.plusDays(1))
+                .beginEventDateTime(now.plusDays(2))
+                .endEventDateTime(now.plusDays(3))
+                .limitOfEnrollment(10)
+                .build();
+        String created = this.perform(post("/api/events")
+                    .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("eventStatus").value(EventStatus.DRAFT.name()))
+                .andReturn().getResponse().getContentAsString();
+        Object eventId = new Jackson2JsonParser().parseMap(created).get("id");
+
+        this.perform(post("/api/events/{eventId}/enrollments", eventId)
+                    .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("errors[0].code").value("enrollmentClosed"));
+
+        // When
+        this.perform(post("/api/events/{eventId}/publish", eventId)
+                    .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("eventStatus").value(EventStatus.PUBLISHED.name()));
+
+        // Then
+        this.perform(post("/api/events/{eventId}/enrollments", eventId)
+                    .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("account.id").exists());
+        assertThat(this.enrollmentRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @TestDescription("없는 이벤트에 등록하면 404 응답받기")
+    public void createEnrollment404() throws Exception {
+        this.perform(post("/api/events/{eventId}/enrollments", 11883)
+                    .header(HttpHeaders.AUTHORIZATION, getBearerToken()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @TestDescription("인증 없이 등록하면 401 응답받기")
+    public void createEnrollmentWithoutToken() throws Exception {
+        // Given
+        Event event = generateEvent(EventStatus.PUBLISHED, 10);
+
+        // When & Then
+        this.mockMvc.perform(post("/api/events/{eventId}/enrollments", event.getId()))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private ResultActions perform(RequestBuilder requestBuilder) throws Exception {
+        ResultActions resultActions = this.mockMvc.perform(requestBuilder);
+        MvcResult mvcResult = resultActions.andReturn();
+        if (!mvcResult.getRequest().isAsyncStarted()) {
+            return resultActions;
+        }
+        return this.mockMvc.perform(asyncDispatch(mvcResult));
+    }
+
+    // 지금 등록 기간인 이벤트
+    private Event generateEvent(EventStatus eventStatus, int limitOfEnrollment) {
+        LocalDateTime now = LocalDateTime.now();
+        return this.eventRepository.save(Event.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(now.minusDays(1))
+                .closeEnrollmentDateTime(now.plusDays(1))
+                .beginEventDateTime(now.plusDays(2))
+                .endEventDateTime(now.plusDays(3))
+                .limitOfEnrollment(limitOfEnrollment)
+                .eventStatus(eventStatus)
+                .build());
+    }
+
+    private String getBearerToken() throws Exception {
+        this.accountService.saveAccount(Account.builder()
+                .email(appProperties.getUserUsername())
+                .password(appProperties.getUserPassword())
+                .roles(Set.of(AccountRole.USER))
+                .build());
+
+        String responseBody = this.mockMvc.perform(post("/oauth/token")
+                    .with(httpBasic(appProperties.getClientId(), appProperties.getClientSecret()))
+                    .param("username", appProperties.getUserUsername())
+                    .param("password", appProperties.getUserPassword())
+                    .param("grant_type", "password"))
+                .andReturn().getResponse().getContentAsString();
+
+        return "Bearer " + new Jackson2JsonParser().parseMap(responseBody).get("access_token");
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.restexample.enrollments;
+
+import com.example.restexample.accounts.Account;
+import com.example.restexample.accounts.AccountRepository;
+import com.example.restexample.accounts.AccountRole;
+import com.example.restexample.common.TestDescription;
+import com.example.restexample.events.Event;
+import com.example.restexample.events.EventRepository;
+import com.example.restexample.events.EventStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class EnrollmentServiceTest {
+    @Autowired
+    EnrollmentService enrollmentService;
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    SeatBlockRepository seatBlockRepository;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Before
+    @After
+    public void cleanUp() {
+        this.enrollmentRepository.deleteAll();
+        this.seatBlockRepository.deleteAll();
+        this.eventRepository.deleteAll();
+        this.accountRepository.deleteAll();
+    }
+
+    @Test
+    @TestDescription("등록이 한꺼번에 몰려도 한도를 넘지 않는 테스트")
+    public void enrollConcurrentlyNeverOversells() throws Exception {
+        // Given : 좌석 50 개에 300 명이 동시에, 20 명은 같은 계정으로 두 번 등록한다.
+        Event event = generateEvent(50);
+        List<Account> accounts = generateAccounts(300);
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger enrolled = new AtomicInteger();
+        Map<String, AtomicInteger> rejected = new ConcurrentHashMap<>();
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < accounts.size() + 20; i++) {
+            Account account = accounts.get(i % accounts.size());
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    this.enrollmentService.enroll(event.getId(), account);
+                    enrolled.incrementAndGet();
+                } catch (EnrollmentRejectedException e) {
+                    rejected.computeIfAbsent(e.getCode(), code -> new AtomicInteger()).incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        List<SeatBlock> blocks = this.seatBlockRepository.findByEventIdOrderByBlockIndex(event.getId());
+        assertThat(enrolled.get()).isEqualTo(50);
+        assertThat(this.enrollmentRepository.countByEventId(event.getId())).isEqualTo(50);
+        assertThat(blocks.stream().mapToInt(SeatBlock::getTaken).sum()).isEqualTo(50);
+        assertThat(blocks).allMatch(block -> block.getTaken() <= block.getCapacity());
+        assertThat(rejected.keySet()).isSubsetOf("soldOut", "alreadyEnrolled");
+        assertThat(rejected.values().stream().mapToInt(AtomicInteger::get).sum()).isEqualTo(270);
+    }
+
+    @Test
+    @TestDescription("한도를 바꾸면 남은 좌석을 다시 나누는 테스트")
+    public void enrollAfterLimitChange() {
+        // Given
+        Event event = generateEvent(3);
+        List<Account> accounts = generateAccounts(6);
+        accounts.subList(0, 3).forEach(account -> this.enrollmentService.enroll(event.getId(), account));
+        assertThatThrownBy(() -> this.enrollmentService.enroll(event.getId(), accounts.get(3)))
+                .isInstanceOf(EnrollmentRejectedException.class)
+                .hasFieldOrPropertyWithValue("code", "soldOut");
+
+        // When
+        event.setLimitOfEnrollment(5);
+        this.eventRepository.save(event);
+
+        // Then
+        this.enrollmentService.enroll(event.getId(), accounts.get(3));
+        this.enrollmentService.enroll(event.getId(), accounts.get(4));
+        assertThatThrownBy(() -> this.enrollmentService.enroll(event.getId(), accounts.get(5)))
+                .isInstanceOf(EnrollmentRejectedException.class)
+                .hasFieldOrPropertyWithValue("code", "soldOut");
+        assertThat(this.enrollmentRepository.countByEventId(event.getId())).isEqualTo(5);
+    }
+
+    @Test
+    @TestDescription("한도가 0 이면 인원 제한 없이 등록하는 테스트")
+    public void enrollWithoutLimit() {
+        // Given
+        Event event = generateEvent(0);
+
+        // When
+        generateAccounts(20).forEach(account -> this.enrollmentService.enroll(event.getId(), account));
+
+        // Then
+        assertThat(this.enrollmentRepository.countByEventId(event.getId())).isEqualTo(20);
+        assertThat(this.seatBlockRepository.findByEventIdOrderByBlockIndex(event.getId())).isEmpty();
+    }
+
+    @Test
+    @TestDescription("한도 없이 받은 등록이 있는 이벤트에 한도가 생겨도 넘지 않는 테스트")
+    public void enrollAfterLimitIsSet() {
+        // Given : 한도 없이 3 명이 등록했다.
+        Event event = generateEvent(0);
+        List<Account> accounts = generateAccounts(8);
+        accounts.subList(0, 3).forEach(account -> this.enrollmentService.enroll(event.getId(), account));
+
+        // When
+        event.setLimitOfEnrollment(5);
+        this.eventRepository.save(event);
+
+        // Then : 남은 좌석은 2 개뿐이다.
+        this.enrollmentService.enroll(event.getId(), accounts.get(3));
+        this.enrollmentService.enroll(event.getId(), accounts.get(4));
+        assertThatThrownBy(() -> this.enrollmentService.enroll(event.getId(), accounts.get(5)))
+                .isInstanceOf(EnrollmentRejectedException.class)
+                .hasFieldOrPropertyWithValue("code", "soldOut");
+        assertThat(this.enrollmentRepository.countByEventId(event.getId())).isEqualTo(5);
+        assertThat(this.seatBlockRepository.findByEventIdOrderByBlockIndex(event.getId()).stream()
+                .mapToInt(SeatBlock::getTaken).sum()).isEqualTo(5);
+    }
+
+    @Test
+    @TestDescription("한도를 없앴다가 다시 두어도 그동안의 등록을 세는 테스트")
+    public void enrollAfterLimitIsRemovedAndRestored() {
+        // Given : 한도 3 에 1 명, 한도를 없앤 동안 2 명이 등록했다.
+        Event event = generateEvent(3);
+        List<Account> accounts = generateAccounts(5);
+        this.enrollmentService.enroll(event.getId(), accounts.get(0));
+        event.setLimitOfEnrollment(0);
+        Event unlimited = this.eventRepository.save(event);
+        accounts.subList(1, 3).forEach(account -> this.enrollmentService.enroll(event.getId(), account));
+
+        // When
+        unlimited.setLimitOfEnrollment(3);
+        this.eventRepository.save(unlimited);
+
+        // Then
+        assertThatThrownBy(() -> this.enrollmentService.enroll(event.getId(), accounts.get(3)))
+                .isInstanceOf(EnrollmentRejectedException.class)
+                .hasFieldOrPropertyWithValue("code", "soldOut");
+        assertThat(this.enrollmentRepository.countByEventId(event.getId())).isEqualTo(3);
+    }
+
+    private Event generateEvent(int limitOfEnrollment) {
+        LocalDateTime now = LocalDateTime.now();
+        return this.eventRepository.save(Event.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(now.minusDays(1))
+                .closeEnrollmentDateTime(now.plusDays(1))
+                .beginEventDateTime(now.plusDays(2))
+                .endEventDateTime(now.plusDays(3))
+                .limitOfEnrollment(limitOfEnrollment)
+                .eventStatus(EventStatus.PUBLISHED)
+                .build());
+    }
+
+    private List<Account> generateAccounts(int count) {
+        return this.accountRepository.saveAll(IntStream.range(0, count)
+                .mapToObj(i -> Account.builder()
+                        .email("user" + i + "@email.com")
+                        .password("pass")
+                        .roles(Set.of(AccountRole.USER))
+                        .build())
+                .collect(Collectors.toList()));
+    }
+}
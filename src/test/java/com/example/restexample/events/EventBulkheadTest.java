@@ -0,0 +1,165 @@
+package com.example.restexample.events;
+
+import com.example.restexample.configs.AppProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventBulkheadTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final HikariDataSource dataSource = new HikariDataSource();
+    private final AppProperties appProperties = new AppProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EventBulkhead eventBulkhead;
+
+    @AfterEach
+    void tearDown() {
+        this.release.countDown();
+        this.eventBulkhead.destroy();
+    }
+
+    @Test
+    void runsOnWorkerThread() throws Exception {
+        // Given
+        this.eventBulkhead = eventBulkhead(2, 1);
+
+        // When
+        ResponseEntity<?> response = this.eventBulkhead
+                .supply(TIMEOUT, () -> ResponseEntity.ok(Thread.currentThread().getName()))
+                .get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat((String) response.getBody()).startsWith("event-db-");
+    }
+
+    @Test
+    void respondsUnavailableWhenTimedOutInQueue() throws Exception {
+        // Given : 작업 스레드 하나를 붙잡아 둔다.
+        this.eventBulkhead = eventBulkhead(1, 1);
+        CompletableFuture<ResponseEntity<?>> running = this.eventBulkhead.supply(TIMEOUT, this::blockUntilReleased);
+        AtomicBoolean called = new AtomicBoolean();
+
+        // When : 대기열에서 시간이 지난다.
+        ResponseEntity<?> response = this.eventBulkhead
+                .supply(Duration.ofMillis(100), () -> {
+                    called.set(true);
+                    return ResponseEntity.ok().build();
+                })
+                .get(5, TimeUnit.SECONDS);
+
+        // Then : 실행하지 않았으므로 다시 보내도 된다.
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+
+        this.release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.OK);
+        this.eventBulkhead.supply(TIMEOUT, () -> ResponseEntity.ok().build()).get(5, TimeUnit.SECONDS);
+        assertThat(called).isFalse();
+    }
+
+    @Test
+    void returnsResultOfStartedTaskAfterTimeout() throws Exception {
+        // Given
+        this.eventBulkhead = eventBulkhead(1, 1);
+        CompletableFuture<ResponseEntity<?>> started = this.eventBulkhead
+                .supply(Duration.ofMillis(100), this::blockUntilReleased);
+
+        // When : 이미 실행 중인 작업은 시간이 지나도 503 으로 끝내지 않는다.
+        Thread.sleep(300);
+        assertThat(started).isNotDone();
+        this.release.countDown();
+
+        // Then
+        assertThat(started.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void respondsUnavailableWhenQueueIsFull() throws Exception {
+        // Given : 작업 스레드 하나와 대기열 하나를 채운다.
+        this.eventBulkhead = eventBulkhead(1, 1);
+        CompletableFuture<ResponseEntity<?>> running = this.eventBulkhead.supply(TIMEOUT, this::blockUntilReleased);
+        CompletableFuture<ResponseEntity<?>> queued = this.eventBulkhead.supply(TIMEOUT, this::blockUntilReleased);
+
+        // When
+        CompletableFuture<ResponseEntity<?>> rejected = this.eventBulkhead.supply(TIMEOUT, this::blockUntilReleased);
+
+        // Then
+        assertThat(rejected).isCompleted();
+        assertThat(rejected.get().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+        this.release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(queued.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void holdsConcurrencyLimitUntilTimedOutTaskFinishes() throws Exception {
+        // Given : 한도는 스레드 하나와 대기열 하나를 더한 2 다. 하나는 실행 중이고 하나는 대기열에서 시간 초과로 응답을 끝냈다.
+        this.eventBulkhead = eventBulkhead(1, 1);
+        CompletableFuture<ResponseEntity<?>> running = this.eventBulkhead.supply(Duration.ofMillis(100), this::blockUntilReleased);
+        CompletableFuture<ResponseEntity<?>> queued = this.eventBulkhead.supply(Duration.ofMillis(100), this::blockUntilReleased);
+        assertThat(queued.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(running).isNotDone();
+
+        // When : 시간 초과된 작업도 대기열에서 빠질 때까지 자리를 차지하므로 새 요청은 대기열에 닿기 전에 거절된다.
+        CompletableFuture<ResponseEntity<?>> rejected = this.eventBulkhead.supply(TIMEOUT, () -> ResponseEntity.ok().build());
+
+        // Then
+        assertThat(rejected).isCompleted();
+        assertThat(rejected.get().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(this.meterRegistry.get("events.bulkhead.rejections").tag("reason", "limit").counter().count())
+                .isEqualTo(1);
+
+        this.release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.OK);
+        while (this.meterRegistry.get("events.bulkhead.in.flight").gauge().value() > 0) {
+            Thread.sleep(10);
+        }
+        assertThat(this.eventBulkhead.supply(TIMEOUT, () -> ResponseEntity.ok().build())
+                .get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void runsOnCallerThreadWhenDisabled() {
+        // Given
+        this.appProperties.setEventBulkheadEnabled(false);
+        this.eventBulkhead = eventBulkhead(1, 1);
+
+        // When
+        CompletableFuture<ResponseEntity<?>> future = this.eventBulkhead
+                .supply(TIMEOUT, () -> ResponseEntity.ok(Thread.currentThread().getName()));
+
+        // Then
+        assertThat(future).isCompletedWithValueMatching(
+                response -> Thread.currentThread().getName().equals(response.getBody()));
+    }
+
+    private EventBulkhead eventBulkhead(int maximumPoolSize, int queueCapacity) {
+        this.dataSource.setMaximumPoolSize(maximumPoolSize);
+        this.appProperties.setEventBulkheadQueueCapacity(queueCapacity);
+        return new EventBulkhead(this.appProperties, this.dataSource, this.meterRegistry);
+    }
+
+    private ResponseEntity<?> blockUntilReleased() {
+        try {
+            this.release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return ResponseEntity.ok().build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.restexample.events;
+
+import com.example.restexample.configs.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class EventCacheTest {
+    private EventRepository eventRepository;
+    private EventCache eventCache;
+
+    @BeforeEach
+    void setUp() {
+        this.eventRepository = mock(EventRepository.class);
+        this.eventCache = new EventCache(this.eventRepository, new AppProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void findByIdHitsRepositoryOnce() {
+        // Given
+        Event event = Event.builder().id(1).name("Spring").build();
+        when(this.eventRepository.findById(1)).thenReturn(Optional.of(event));
+
+        // When
+        Optional<Event> first = this.eventCache.findById(1);
+        Optional<Event> second = this.eventCache.findById(1);
+
+        // Then
+        assertThat(first).containsSame(event);
+        assertThat(second).containsSame(event);
+        verify(this.eventRepository, times(1)).findById(1);
+        assertThat(this.eventCache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void missingEventIsNotCached() {
+        // Given
+        when(this.eventRepository.findById(1)).thenReturn(Optional.empty());
+
+        // When
+        this.eventCache.findById(1);
+        Optional<Event> result = this.eventCache.findById(1);
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(this.eventRepository, times(2)).findById(1);
+    }
+
+    @Test
+    void evictReloadsFromRepository() {
+        // Given
+        Event before = Event.builder().id(1).name("before").build();
+        Event after = Event.builder().id(1).name("after").build();
+        when(this.eventRepository.findById(1)).thenReturn(Optional.of(before)).thenReturn(Optional.of(after));
+        this.eventCache.findById(1);
+
+        // When
+        this.eventCache.evict(1);
+
+        // Then
+        assertThat(this.eventCache.findById(1)).containsSame(after);
+        verify(this.eventRepository, times(2)).findById(1);
+    }
+
+    @Test
+    void concurrentMissesLoadOnce() throws Exception {
+        // Given
+        Event event = Event.builder().id(1).build();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(this.eventRepository.findById(1)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return Optional.of(event);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            // When
+            List<Future<Optional<Event>>> results = new ArrayList<>();
+            results.add(executor.submit(() -> this.eventCache.findById(1)));
+            loading.await();
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> this.eventCache.findById(1)));
+            }
+            release.countDown();
+
+            // Then
+            for (Future<Optional<Event>> result : results) {
+                assertThat(result.get()).containsSame(event);
+            }
+            verify(this.eventRepository, times(1)).findById(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -5,27 +5,48 @@ import com.example.restexample.accounts.AccountRepository;
 import com.example.restexample.accounts.AccountRole;
 import com.example.restexample.accounts.AccountService;
 import com.example.restexample.common.BaseControllerTest;
+import com.example.restexample.common.BinaryMediaTypes;
 import com.example.restexample.common.TestDescription;
 import com.example.restexample.configs.AppProperties;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.hamcrest.Matchers;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders;
 import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.ResultMatcher;
 
+import javax.persistence.EntityManagerFactory;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.IntStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.restdocs.headers.HeaderDocumentation.*;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.links;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
 import static org.springframework.restdocs.payload.PayloadDocumentation.*;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+import static org.springframework.restdocs.request.RequestDocumentation.pathParameters;
+import static org.springframework.restdocs.request.RequestDocumentation.requestParameters;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -44,6 +65,18 @@ public class EventControllerTests extends BaseControllerTest {
     @Autowired
     AppProperties appProperties;
 
+    @Autowired
+    EventCountEstimator eventCountEstimator;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    EventSearchIndex eventSearchIndex;
+
+    @Autowired
+    EventCache eventCache;
+
     @Before
     public void setUp() {
         this.eventRepository.deleteAll();
@@ -66,7 +99,7 @@ public class EventControllerTests extends BaseControllerTest {
                 .location("강남역 D2 스타트업 팩토리")
                 .build();
 
-        mockMvc.perform(post("/api/events/")
+        this.perform(post("/api/events/")
                     .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
                     .contentType(MediaType.APPLICATION_JSON)
                     .accept(MediaTypes.HAL_JSON)
@@ -83,12 +116,14 @@ public class EventControllerTests extends BaseControllerTest {
                 .andExpect(jsonPath("_links.self").exists())
                 .andExpect(jsonPath("_links.query-events").exists())
                 .andExpect(jsonPath("_links.update-event").exists())
+                .andExpect(jsonPath("_links.publish-event").exists())
                 .andExpect(jsonPath("_links.profile").exists())
                 .andDo(document("create-event",
                         links(
                                 linkWithRel("self").description("link to self"),
                                 linkWithRel("query-events").description("link to query events"),
                                 linkWithRel("update-event").description("link to update event"),
+                                linkWithRel("publish-event").description("link to publish event"),
                                 linkWithRel("profile").description("link to profile")
                         ),
                         requestHeaders(
@@ -154,7 +189,7 @@ public class EventControllerTests extends BaseControllerTest {
                 .eventStatus(EventStatus.PUBLISHED)
                 .build();
 
-        mockMvc.perform(post("/api/events/")
+        this.perform(post("/api/events/")
                 .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
                 .contentType(MediaType.APPLICATION_JSON)
                 .accept(MediaTypes.HAL_JSON)
@@ -169,7 +204,7 @@ public class EventControllerTests extends BaseControllerTest {
     public void createEvent_Bad_Request_Empty_Input() throws Exception {
         EventDto eventDto = EventDto.builder().build();
 
-        this.mockMvc.perform(post("/api/events/")
+        this.perform(post("/api/events/")
                     .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(this.objectMapper.writeValueAsString(eventDto)))
@@ -193,7 +228,7 @@ public class EventControllerTests extends BaseControllerTest {
                 .location("강남역 D2 스타트업 팩토리")
                 .build();
 
-        mockMvc.perform(post("/api/events/")
+        this.perform(post("/api/events/")
                 .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
                 .contentType(MediaType.APPLICATION_JSON)
                 .accept(MediaTypes.HAL_JSON)
@@ -207,6 +242,260 @@ public class EventControllerTests extends BaseControllerTest {
         ;
     }
 
+    @Test
+    @TestDescription("여러 이벤트를 한 번에 생성하는 테스트")
+    public void createEventsInBatch() throws Exception {
+        // Given
+        String bearerToken = getBearerToken(true);
+        List<EventDto> events = new ArrayList<>();
+        IntStream.range(0, 10).forEach(i -> {
+            EventDto event = this.modelMapper.map(buildEvent(i), EventDto.class);
+            events.add(event);
+        });
+
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When & Then
+        this.perform(post("/api/events/batch")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaTypes.HAL_JSON)
+                        .content(this.objectMapper.writeValueAsString(events)))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_embedded.eventList[0].id").exists())
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("event 0"))
+                .andExpect(jsonPath("_embedded.eventList[9].name").value("event 9"))
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("_links.query-events").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("create-events-batch",
+                        links(
+                                linkWithRel("query-events").description("link to query events"),
+                                linkWithRel("profile").description("link to profile")
+                        )
+                ))
+        ;
+
+        // insert 는 한 번 준비해서 묶어 보내고, 시퀀스는 50 개 단위로만 읽는다.
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        assertThat(this.eventRepository.count()).isEqualTo(10);
+    }
+
+    @Test
+    @TestDescription("일괄 생성할 이벤트 중 하나라도 잘못되어 있으면 아무것도 생성하지 않는 테스트")
+    public void createEventsInBatch_Bad_Request() throws Exception {
+        // Given
+        EventDto valid = this.modelMapper.map(buildEvent(0), EventDto.class);
+        EventDto wrongPrices = this.modelMapper.map(buildEvent(1), EventDto.class);
+        wrongPrices.setBasePrice(20000);
+        wrongPrices.setMaxPrice(1000);
+        EventDto empty = new EventDto();
+
+        // When & Then
+        this.perform(post("/api/events/batch")
+                        .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaTypes.HAL_JSON)
+                        .content(this.objectMapper.writeValueAsString(List.of(valid, wrongPrices, empty))))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("_embedded.errors.length()").value(2))
+                .andExpect(jsonPath("_embedded.errors[0].index").value(1))
+                .andExpect(jsonPath("_embedded.errors[0].errors[0].code").value("wrongPrices"))
+                .andExpect(jsonPath("_embedded.errors[1].index").value(2))
+                .andExpect(jsonPath("_embedded.errors[1].errors[0].field").exists())
+                .andExpect(jsonPath("_links.index").exists())
+        ;
+
+        assertThat(this.eventRepository.count()).isZero();
+    }
+
+    @Test
+    @TestDescription("이벤트 배열을 만들지 않고 검증만 하는 테스트")
+    public void validateEvents() throws Exception {
+        // Given
+        EventDto valid = this.modelMapper.map(buildEvent(0), EventDto.class);
+        EventDto wrongPrices = this.modelMapper.map(buildEvent(1), EventDto.class);
+        wrongPrices.setBasePrice(20000);
+        wrongPrices.setMaxPrice(1000);
+        EventDto empty = new EventDto();
+        List<EventDto> events = new ArrayList<>(List.of(valid, wrongPrices, empty));
+        events.add(null);
+
+        // When
+        MvcResult mvcResult = this.mockMvc.perform(post("/api/events/validate")
+                        .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(this.objectMapper.writeValueAsString(events)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then : 잘못된 항목만 요청 순서대로 한 줄씩
+        String body = this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE))
+                .andDo(document("validate-events",
+                        responseHeaders(
+                                headerWithName(HttpHeaders.CONTENT_TYPE).description("application/x-ndjson")
+                        )
+                ))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(3);
+        JsonNode wrongPricesError = this.objectMapper.readTree(lines[0]);
+        assertThat(wrongPricesError.get("index").asInt()).isEqualTo(1);
+        assertThat(wrongPricesError.at("/errors/0/code").asText()).isEqualTo("wrongPrices");
+        assertThat(wrongPricesError.at("/errors/0/defaultMessage").isMissingNode()).isFalse();
+        JsonNode emptyError = this.objectMapper.readTree(lines[1]);
+        assertThat(emptyError.get("index").asInt()).isEqualTo(2);
+        assertThat(emptyError.at("/errors/0/field").isMissingNode()).isFalse();
+        JsonNode nullError = this.objectMapper.readTree(lines[2]);
+        assertThat(nullError.get("index").asInt()).isEqualTo(3);
+        assertThat(nullError.at("/errors/0/code").asText()).isEqualTo("emptyEvent");
+
+        assertThat(this.eventRepository.count()).isZero();
+    }
+
+    @Test
+    @TestDescription("여러 묶음에 걸친 NDJSON 을 검증해도 에러가 요청 순서대로 나오는지 확인하기")
+    public void validateEvents_Ndjson() throws Exception {
+        // Given : 묶음 세 개에 걸친 이벤트 중 일부는 가격이 잘못되었고, 하나는 값을 읽을 수 없다.
+        int size = EventBatchValidator.CHUNK_SIZE * 2 + 100;
+        StringBuilder content = new StringBuilder();
+        List<Integer> wrongIndexes = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            EventDto event = this.modelMapper.map(buildEvent(i), EventDto.class);
+            ObjectNode node = this.objectMapper.valueToTree(event);
+            if (i % 100 == 50) {
+                node.put("basePrice", 20000);
+                node.put("maxPrice", 1000);
+                wrongIndexes.add(i);
+            } else if (i == 300) {
+                node.put("basePrice", "free");
+                wrongIndexes.add(i);
+            }
+            content.append(node).append('\n');
+        }
+
+        // When
+        MvcResult mvcResult = this.mockMvc.perform(post("/api/events/validate")
+                        .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(content.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        List<Integer> indexes = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            JsonNode error = this.objectMapper.readTree(line);
+            indexes.add(error.get("index").asInt());
+            String code = error.at("/errors/0/code").asText();
+            assertThat(code).isEqualTo(error.get("index").asInt() == 300 ? "wrongValue" : "wrongPrices");
+        }
+        assertThat(indexes).isEqualTo(wrongIndexes);
+        assertThat(this.eventRepository.count()).isZero();
+    }
+
+    @Test
+    @TestDescription("JSON 문법이 깨진 곳에서 검증을 멈추는지 확인하기")
+    public void validateEvents_Wrong_Json() throws Exception {
+        // Given
+        String valid = this.objectMapper.writeValueAsString(this.modelMapper.map(buildEvent(0), EventDto.class));
+        String content = valid + "\n" + valid + "\n" + "{\"name\": \"broken\",,}\n" + valid + "\n";
+
+        // When
+        MvcResult mvcResult = this.mockMvc.perform(post("/api/events/validate")
+                        .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(content))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(1);
+        JsonNode error = this.objectMapper.readTree(lines[0]);
+        assertThat(error.get("index").asInt()).isEqualTo(2);
+        assertThat(error.at("/errors/0/code").asText()).isEqualTo("wrongJson");
+    }
+
+    @Test
+    @TestDescription("전체 이벤트를 NDJSON 으로 내려받기")
+    public void exportAllEvents() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        // When
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/events/export")
+                        .header(HttpHeaders.AUTHORIZATION, getBearerToken(true)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String body = this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE))
+                .andDo(document("export-events",
+                        responseHeaders(
+                                headerWithName(HttpHeaders.CONTENT_TYPE).description("application/x-ndjson")
+                        )
+                ))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(30);
+        Jackson2JsonParser parser = new Jackson2JsonParser();
+        assertThat(parser.parseMap(lines[0]).get("name")).isEqualTo("event 0");
+        assertThat(parser.parseMap(lines[29]).get("name")).isEqualTo("event 29");
+    }
+
+    @Test
+    @TestDescription("인증 없이 전체 이벤트를 내려받으면 401 응답받기")
+    public void exportEventsWithoutAuthentication() throws Exception {
+        this.mockMvc.perform(get("/api/events/export"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(request().asyncNotStarted());
+    }
+
+    @Test
+    @TestDescription("내보내기가 이벤트 엔티티를 영속성 컨텍스트에 올리지 않는지 확인하기")
+    public void exportEventsWithoutLoadingEntities() throws Exception {
+        // Given
+        Account account = this.createAccount();
+        IntStream.range(0, 200).forEach(i -> generateEvent(i, account));
+        String bearerToken = getBearerToken(false);
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/events/export")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then : 쿼리 한 번, 엔티티 로딩 없음
+        assertThat(body.split("\n")).hasSize(200);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
     @Test
     @TestDescription("30개의 이벤트를 10개씩 두번째 페이지 조회하기")
     public void queryEvents() throws Exception {
@@ -214,7 +503,7 @@ public class EventControllerTests extends BaseControllerTest {
         IntStream.range(0, 30).forEach(this::generateEvent);
 
         // When
-        this.mockMvc.perform(get("/api/events")
+        this.perform(get("/api/events")
                 .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
                 .param("page", "1")
                 .param("size", "10")
@@ -237,7 +526,7 @@ public class EventControllerTests extends BaseControllerTest {
         IntStream.range(0, 30).forEach(this::generateEvent);
 
         // When
-        this.mockMvc.perform(get("/api/events")
+        this.perform(get("/api/events")
                     .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
                     .param("page", "1")
                     .param("size", "10")
@@ -254,6 +543,402 @@ public class EventControllerTests extends BaseControllerTest {
         ;
     }
 
+    @Test
+    @TestDescription("이벤트 목록 조회 시 매니저를 따로 읽지 않는지 확인하기")
+    public void queryEventsWithoutLoadingManagers() throws Exception {
+        // Given
+        IntStream.range(0, 10).forEach(i -> {
+            Account manager = this.accountRepository.save(Account.builder()
+                    .email("manager" + i + "@email.com")
+                    .password("pass")
+                    .roles(Set.of(AccountRole.USER))
+                    .build());
+            generateEvent(i, manager);
+        });
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        this.perform(get("/api/events")
+                    .param("page", "0")
+                    .param("size", "10")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[9].manager.id").exists());
+
+        // Then : 목록 조회와 COUNT 조회
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @TestDescription("상태, 매니저, 시작 시각으로 걸러서 이벤트 목록 조회하기")
+    public void queryEventsWithFilter() throws Exception {
+        // Given : 짝수 번째만 PUBLISHED, 앞의 20개만 매니저가 있고 하루씩 늦게 시작한다.
+        Account account = this.createAccount();
+        IntStream.range(0, 30).forEach(i -> {
+            Event event = buildEvent(i);
+            event.setBeginEventDateTime(LocalDateTime.of(2018, 11, 25, 10, 0).plusDays(i));
+            event.setEventStatus(i % 2 == 0 ? EventStatus.PUBLISHED : EventStatus.DRAFT);
+            event.setManager(i < 20 ? account : null);
+            this.eventRepository.save(event);
+        });
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When & Then : 2, 4, 6, 8 번째 이벤트
+        // 조건 파라미터는 URI 에 넣어야 페이지 링크에 이어진다.
+        this.perform(get("/api/events?eventStatus=PUBLISHED&manager={manager}" +
+                        "&beginEventFrom=2018-11-27T00:00:00&beginEventTo=2018-12-05T00:00:00", account.getId())
+                    .param("page", "0")
+                    .param("size", "2")
+                    .param("sort", "beginEventDateTime,DESC")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(4))
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("event 8"))
+                .andExpect(jsonPath("_embedded.eventList[1].name").value("event 6"))
+                .andExpect(jsonPath("_links.next.href").value(Matchers.containsString("eventStatus=PUBLISHED")))
+                .andDo(document("query-events-filtered",
+                        requestParameters(
+                                parameterWithName("eventStatus").description("이벤트 상태. 여러 번 주면 그 중 하나인 이벤트"),
+                                parameterWithName("free").description("무료 이벤트 여부").optional(),
+                                parameterWithName("offline").description("오프라인 이벤트 여부").optional(),
+                                parameterWithName("manager").description("매니저 계정 id"),
+                                parameterWithName("beginEventFrom").description("이 시각 이후(포함)에 시작하는 이벤트"),
+                                parameterWithName("beginEventTo").description("이 시각 전(미포함)에 시작하는 이벤트"),
+                                parameterWithName("beginEnrollmentFrom").description("이 시각 이후(포함)에 등록을 시작하는 이벤트").optional(),
+                                parameterWithName("beginEnrollmentTo").description("이 시각 전(미포함)에 등록을 시작하는 이벤트").optional(),
+                                parameterWithName("page").description("페이지 번호, 0부터 시작"),
+                                parameterWithName("size").description("페이지 크기"),
+                                parameterWithName("sort").description("정렬 조건")
+                        )
+                ));
+
+        // Then : 목록 조회와 COUNT 조회, 엔티티 로딩 없음
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @TestDescription("잘못된 조건으로 이벤트 목록을 조회하면 400 응답받기")
+    public void queryEventsWithWrongFilter() throws Exception {
+        this.perform(get("/api/events")
+                    .param("eventStatus", "UNKNOWN")
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].field").value("eventStatus"))
+                .andExpect(jsonPath("_links.index").exists())
+        ;
+    }
+
+    @Test
+    @TestDescription("목록 조회의 이벤트 표현이 단건 조회와 같은지 확인하기")
+    public void listedEventMatchesGetEvent() throws Exception {
+        // Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(100, account);
+        Jackson2JsonParser parser = new Jackson2JsonParser();
+
+        // When
+        String listBody = this.perform(get("/api/events"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String getBody = this.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        Map<?, ?> embedded = (Map<?, ?>) parser.parseMap(listBody).get("_embedded");
+        Map<?, ?> listed = (Map<?, ?>) ((List<?>) embedded.get("eventList")).get(0);
+        Map<?, ?> single = parser.parseMap(getBody);
+        listed.remove("_links");
+        single.remove("_links");
+        assertThat(new ArrayList<>(listed.entrySet())).isEqualTo(new ArrayList<>(single.entrySet()));
+    }
+
+    @Test
+    @TestDescription("이벤트 목록과 이벤트 하나를 Smile, CBOR 로 받아도 HAL JSON 과 내용이 같은지 확인하기")
+    public void getEventsInBinaryFormats() throws Exception {
+        // Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(100, account);
+        IntStream.range(0, 5).forEach(this::generateEvent);
+
+        for (String uri : List.of("/api/events", "/api/events/" + event.getId())) {
+            // When
+            JsonNode json = readTree(get(uri).accept(MediaTypes.HAL_JSON), MediaTypes.HAL_JSON, new JsonFactory());
+            JsonNode smile = readTree(get(uri).accept(BinaryMediaTypes.SMILE), BinaryMediaTypes.SMILE, new SmileFactory());
+            JsonNode cbor = readTree(get(uri).accept(BinaryMediaTypes.CBOR), BinaryMediaTypes.CBOR, new CBORFactory());
+
+            // Then
+            assertThat(json.path("_links").path("self").path("href").isTextual()).isTrue();
+            assertThat(smile).isEqualTo(json);
+            assertThat(cbor).isEqualTo(json);
+        }
+    }
+
+    @Test
+    @TestDescription("Smile 로 받은 에러 응답에도 에러 목록과 인덱스 링크가 담기는지 확인하기")
+    public void createEvent_Bad_Request_Smile() throws Exception {
+        EventDto event = EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 26, 12, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 23, 0))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 26, 10, 0))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 25, 20, 0))
+                .basePrice(10000)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타트업 팩토리")
+                .build();
+
+        JsonNode body = this.readTree(post("/api/events/")
+                        .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(BinaryMediaTypes.SMILE)
+                        .content(objectMapper.writeValueAsString(event)),
+                status().isBadRequest(), BinaryMediaTypes.SMILE, new SmileFactory());
+
+        assertThat(body.path("errors").path(0).path("code").isTextual()).isTrue();
+        assertThat(body.path("errors").path(0).path("defaultMessage").isTextual()).isTrue();
+        assertThat(body.path("_links").path("index").isObject()).isTrue();
+    }
+
+    @Test
+    @TestDescription("이벤트 하나를 조회할 때 매니저를 따로 읽지 않는지 확인하기")
+    public void getEventWithoutLoadingManager() throws Exception {
+        // Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(100, account);
+        String bearerToken = getBearerToken(false);
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        this.perform(get("/api/events/{id}", event.getId())
+                    .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("manager.id").value(account.getId()))
+                .andExpect(jsonPath("_links.update-event").exists());
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @TestDescription("30개의 이벤트를 전체 개수 없이 10개씩 두번째 페이지 조회하기")
+    public void queryEventsSlice() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+        this.eventCountEstimator.refresh();
+
+        // When & Then
+        this.perform(get("/api/events")
+                    .param("count", "false")
+                    .param("page", "1")
+                    .param("size", "10")
+                    .param("sort", "name,DESC")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count-Estimate", "30"))
+                .andExpect(jsonPath("page").doesNotExist())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.prev.href").value(Matchers.containsString("page=0")))
+                .andExpect(jsonPath("_links.next.href").value(Matchers.containsString("page=2")))
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("query-events-slice",
+                        links(
+                                linkWithRel("self").description("link to self"),
+                                linkWithRel("prev").description("link to previous page"),
+                                linkWithRel("next").description("link to next page"),
+                                linkWithRel("profile").description("link to profile")
+                        ),
+                        responseHeaders(
+                                headerWithName("X-Total-Count-Estimate").description("periodically refreshed estimate of the number of events"),
+                                headerWithName(HttpHeaders.CONTENT_TYPE).description("content type")
+                        )
+                ))
+        ;
+    }
+
+    @Test
+    @TestDescription("30개의 이벤트를 커서로 10개씩 끝까지 조회하기")
+    public void queryEventsWithCursor() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        // When & Then
+        String next = this.perform(get("/api/events")
+                    .param("after", "")
+                    .param("size", "10")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page").doesNotExist())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("query-events-cursor",
+                        links(
+                                linkWithRel("self").description("link to self"),
+                                linkWithRel("next").description("link to next events after the cursor"),
+                                linkWithRel("profile").description("link to profile")
+                        ),
+                        requestParameters(
+                                parameterWithName("after").description("opaque cursor from the next link, empty for the first page"),
+                                parameterWithName("size").description("number of events")
+                        )
+                ))
+                .andReturn().getResponse().getContentAsString();
+
+        next = nextLink(this.perform(get(nextLink(next)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("event 10"))
+                .andReturn().getResponse().getContentAsString());
+
+        this.perform(get(next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_embedded.eventList[9].name").value("event 29"))
+                .andExpect(jsonPath("_links.next").doesNotExist())
+        ;
+    }
+
+    @Test
+    @TestDescription("이벤트 시작 일시 순서로 커서 조회하기")
+    public void queryEventsWithCursorOrderByBeginEventDateTime() throws Exception {
+        // Given
+        IntStream.range(0, 5).forEach(i -> {
+            Event event = buildEvent(i);
+            event.setBeginEventDateTime(LocalDateTime.of(2018, 11, 25, 10, 0).minusDays(i / 2));
+            this.eventRepository.save(event);
+        });
+
+        // When & Then
+        String next = this.perform(get("/api/events")
+                    .param("after", "")
+                    .param("orderBy", "beginEventDateTime")
+                    .param("size", "3")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[*].name").value(Matchers.contains("event 4", "event 2", "event 3")))
+                .andReturn().getResponse().getContentAsString();
+
+        this.perform(get(nextLink(next)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[*].name").value(Matchers.contains("event 0", "event 1")))
+                .andExpect(jsonPath("_links.next").doesNotExist())
+        ;
+    }
+
+    @Test
+    @TestDescription("필터 조건을 다음 커서에도 유지하면서 커서로 조회하기")
+    public void queryEventsWithCursorAndFilter() throws Exception {
+        // Given : 짝수 번째만 공개된 무료 이벤트
+        IntStream.range(0, 10).forEach(i -> {
+            Event event = buildEvent(i);
+            if (i % 2 == 0) {
+                event.setEventStatus(EventStatus.PUBLISHED);
+                event.setBasePrice(0);
+                event.setMaxPrice(0);
+                event.setFree(true);
+            }
+            this.eventRepository.save(event);
+        });
+
+        // When & Then
+        // 다음 링크는 요청의 쿼리 문자열로 만들므로 파라미터를 URI 에 담는다.
+        String next = this.perform(get("/api/events?after=&eventStatus=PUBLISHED&free=true&size=3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[*].name").value(Matchers.contains("event 0", "event 2", "event 4")))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(nextLink(next)).contains("eventStatus=PUBLISHED").contains("free=true");
+        this.perform(get(nextLink(next)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[*].name").value(Matchers.contains("event 6", "event 8")))
+                .andExpect(jsonPath("_links.next").doesNotExist())
+        ;
+    }
+
+    @Test
+    @TestDescription("커서 조회에서 필터 값이 잘못되면 400 응답받기")
+    public void queryEventsWithCursorAndWrongFilter() throws Exception {
+        this.perform(get("/api/events")
+                    .param("after", "")
+                    .param("free", "maybe")
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("_links.index").exists())
+        ;
+    }
+
+    @Test
+    @TestDescription("잘못된 커서로 조회하면 400 응답받기")
+    public void queryEventsWithWrongCursor() throws Exception {
+        this.perform(get("/api/events")
+                    .param("after", "not-a-cursor")
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("wrongCursor"))
+                .andExpect(jsonPath("_links.index").exists())
+        ;
+    }
+
+    @Test
+    @TestDescription("판교에서 열리는 이벤트를 검색해서 두번째 페이지 조회하기")
+    public void searchEvents() throws Exception {
+        // Given
+        IntStream.range(0, 30).forEach(i -> {
+            Event event = buildEvent(i);
+            event.setLocation(i % 2 == 0 ? "판교 테크노밸리" : "강남역 D2 스타트업 팩토리");
+            this.eventSearchIndex.index(EventView.of(this.eventRepository.save(event)));
+        });
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events/search")
+                    .param("q", "판교")
+                    .param("page", "1")
+                    .param("size", "10")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(15))
+                .andExpect(jsonPath("_embedded.eventList.length()").value(5))
+                .andExpect(jsonPath("_embedded.eventList[0].location").value("판교 테크노밸리"))
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("search-events",
+                        requestParameters(
+                                parameterWithName("q").description("검색어. 이름, 설명, 장소에 모든 단어가 들어간 이벤트를 찾는다."),
+                                parameterWithName("page").description("페이지 번호, 0부터 시작"),
+                                parameterWithName("size").description("페이지 크기")
+                        )
+                ))
+        ;
+    }
+
+    @Test
+    @TestDescription("빈 검색어로 검색하면 400 응답받기")
+    public void searchEventsWithEmptyQuery() throws Exception {
+        this.mockMvc.perform(get("/api/events/search")
+                    .param("q", " ")
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("emptyQuery"))
+                .andExpect(jsonPath("_links.index").exists())
+        ;
+    }
+
     @Test
     @TestDescription("기존의 이벤트를 하나 조회하기")
     public void getEvent() throws Exception {
@@ -262,7 +947,7 @@ public class EventControllerTests extends BaseControllerTest {
         Event event = this.generateEvent(100, account);
 
         // When & Then
-        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+        this.perform(get("/api/events/{id}", event.getId()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("name").exists())
                 .andExpect(jsonPath("id").exists())
@@ -276,11 +961,141 @@ public class EventControllerTests extends BaseControllerTest {
     @TestDescription("없는 이벤트를 조회했을 때 404 응답받기")
     public void getEvent404() throws Exception {
         // When & Then
-        this.mockMvc.perform(get("/api/events/99999"))
+        this.perform(get("/api/events/99999"))
                 .andExpect(status().isNotFound())
         ;
     }
 
+    @Test
+    @TestDescription("바뀌지 않은 이벤트를 ETag 로 다시 조회하면 304 응답받기")
+    public void getEventNotModified() throws Exception {
+        // Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(100, account);
+
+        String eTag = this.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        this.perform(get("/api/events/{id}", event.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""))
+        ;
+
+        // 매니저가 받는 표현은 update-event 링크가 있으므로 ETag 가 다르다.
+        this.perform(get("/api/events/{id}", event.getId())
+                        .header(HttpHeaders.AUTHORIZATION, getBearerToken(false))
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_links.update-event").exists())
+        ;
+    }
+
+    @Test
+    @TestDescription("같은 이벤트라도 응답 형식마다 ETag 가 다르고 Vary: Accept 로 알리는지 확인하기")
+    public void getEventETagPerRepresentation() throws Exception {
+        // Given
+        Event event = this.generateEvent(100);
+        String jsonETag = this.perform(get("/api/events/{id}", event.getId())
+                        .accept(MediaTypes.HAL_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When
+        String cborETag = this.perform(get("/api/events/{id}", event.getId())
+                        .accept(BinaryMediaTypes.CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                // Then : JSON 으로 받은 ETag 로는 CBOR 본문을 304 로 돌려주지 않는다.
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(BinaryMediaTypes.CBOR))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(cborETag).isNotEqualTo(jsonETag);
+
+        this.perform(get("/api/events/{id}", event.getId())
+                        .accept(BinaryMediaTypes.CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, cborETag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, cborETag))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    @TestDescription("If-Match 의 ETag 가 현재 버전과 다르면 이벤트 수정 실패")
+    public void updateEventWithStaleETag() throws Exception {
+        // Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(200, account);
+        String bearerToken = getBearerToken(false);
+
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        eventDto.setName("Updated Event");
+
+        String eTag = this.perform(put("/api/events/{id}", event.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .header(HttpHeaders.IF_MATCH, "\"" + event.getVersion() + "-m-hal+json\"")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (event.getVersion() + 1) + "-m-hal+json\""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        eventDto.setName("Stale Event");
+        this.perform(put("/api/events/{id}", event.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .header(HttpHeaders.IF_MATCH, "\"" + event.getVersion() + "-m-hal+json\"")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isPreconditionFailed())
+        ;
+
+        assertThat(this.eventRepository.findById(event.getId()).orElseThrow().getName()).isEqualTo("Updated Event");
+        this.perform(get("/api/events/{id}", event.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+        ;
+    }
+
+    @Test
+    @TestDescription("캐시에 올라간 뒤에 다른 곳에서 수정된 이벤트는 캐시가 아닌 최신 버전에 수정하기")
+    public void updateEventModifiedConcurrently() throws Exception {
+        // Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(200, account);
+        String bearerToken = getBearerToken(false);
+
+        // 캐시에 현재 버전을 올려두고 저장소에서 직접 수정한다.
+        this.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk());
+        event.setName("Modified Elsewhere");
+        event.setLocation("Modified Location");
+        Event modified = this.eventRepository.save(event);
+
+        EventDto eventDto = this.modelMapper.map(modified, EventDto.class);
+        eventDto.setName("Updated Event");
+
+        // When & Then : 수정할 이벤트는 캐시가 아닌 저장소에서 읽으므로 버전이 어긋나지 않는다.
+        this.perform(put("/api/events/{id}", event.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (modified.getVersion() + 1) + "-m-hal+json\""))
+        ;
+
+        this.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("Updated Event"))
+                .andExpect(jsonPath("location").value("Modified Location"));
+    }
+
     @Test
     @TestDescription("이벤트를 정상 수정")
     public void updateEvent() throws Exception {
@@ -293,7 +1108,7 @@ public class EventControllerTests extends BaseControllerTest {
         eventDto.setName(eventName);
 
         // When & Then
-        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+        this.perform(put("/api/events/{id}", event.getId())
                             .header(HttpHeaders.AUTHORIZATION, getBearerToken(false))
                             .contentType(MediaType.APPLICATION_JSON_VALUE)
                             .content(this.objectMapper.writeValueAsString(eventDto))
@@ -306,6 +1121,30 @@ public class EventControllerTests extends BaseControllerTest {
         ;
     }
 
+    @Test
+    @TestDescription("이벤트를 수정해도 캐시에 있던 이벤트는 바뀌지 않는지 확인하기")
+    public void updateEventWithoutTouchingCachedEvent() throws Exception {
+        // Given : 조회로 캐시에 올린다.
+        Account account = this.createAccount();
+        Event event = this.generateEvent(200, account);
+        Event cachedEvent = this.eventCache.findById(event.getId()).orElseThrow();
+
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        eventDto.setName("Updated Event");
+
+        // When
+        this.perform(put("/api/events/{id}", event.getId())
+                        .header(HttpHeaders.AUTHORIZATION, getBearerToken(false))
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("Updated Event"));
+
+        // Then : 다른 요청이 들고 있는 캐시의 이벤트는 그대로이고, 다음 조회는 저장된 값을 읽는다.
+        assertThat(cachedEvent.getName()).isEqualTo(event.getName());
+        assertThat(this.eventCache.findById(event.getId()).orElseThrow().getName()).isEqualTo("Updated Event");
+    }
+
     @Test
     @TestDescription("입력값이 비어있는 경우에 이벤트 수정 실패")
     public void updateEvent400_Empty() throws Exception {
@@ -315,7 +1154,7 @@ public class EventControllerTests extends BaseControllerTest {
         EventDto eventDto = new EventDto();
 
         // When & Then
-        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+        this.perform(put("/api/events/{id}", event.getId())
                 .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
                 .content(this.objectMapper.writeValueAsString(eventDto))
@@ -336,7 +1175,7 @@ public class EventControllerTests extends BaseControllerTest {
         eventDto.setMaxPrice(1000);
 
         // When & Then
-        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+        this.perform(put("/api/events/{id}", event.getId())
                         .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
                         .contentType(MediaType.APPLICATION_JSON_VALUE)
                         .content(this.objectMapper.writeValueAsString(eventDto))
@@ -354,7 +1193,7 @@ public class EventControllerTests extends BaseControllerTest {
         EventDto eventDto = this.modelMapper.map(event, EventDto.class);
 
         // When & Then
-        this.mockMvc.perform(put("/api/events/999999")
+        this.perform(put("/api/events/999999")
                 .header(HttpHeaders.AUTHORIZATION, getBearerToken(true))
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
                 .content(this.objectMapper.writeValueAsString(eventDto))
@@ -364,6 +1203,102 @@ public class EventControllerTests extends BaseControllerTest {
         ;
     }
 
+    @Test
+    @TestDescription("매니저가 이벤트를 공개하는 테스트")
+    public void publishEvent() throws Exception {
+        // Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(200, account);
+        String bearerToken = getBearerToken(false);
+        this.perform(get("/api/events/{id}", event.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(jsonPath("_links.publish-event").exists());
+
+        // When & Then
+        this.perform(RestDocumentationRequestBuilders.post("/api/events/{id}/publish", event.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .accept(MediaTypes.HAL_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("eventStatus").value(EventStatus.PUBLISHED.name()))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (event.getVersion() + 1) + "-m-hal+json\""))
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.update-event").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("publish-event",
+                        pathParameters(
+                                parameterWithName("id").description("공개할 이벤트의 id")
+                        ),
+                        links(
+                                linkWithRel("self").description("link to self"),
+                                linkWithRel("update-event").description("link to update event"),
+                                linkWithRel("profile").description("link to profile")
+                        )
+                ));
+
+        // 공개한 뒤에는 캐시된 이벤트도 새 상태를 보여 준다.
+        this.perform(get("/api/events/{id}", event.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(jsonPath("eventStatus").value(EventStatus.PUBLISHED.name()))
+                .andExpect(jsonPath("_links.publish-event").doesNotExist());
+    }
+
+    @Test
+    @TestDescription("이미 공개된 이벤트를 다시 공개하면 409 응답받기")
+    public void publishEventTwice() throws Exception {
+        // Given
+        Account account = this.createAccount();
+        Event event = this.generateEvent(200, account);
+        String bearerToken = getBearerToken(false);
+        this.perform(post("/api/events/{id}/publish", event.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isOk());
+
+        // When & Then
+        this.perform(post("/api/events/{id}/publish", event.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("errors[0].code").value("alreadyPublished"))
+                .andExpect(jsonPath("_links.index").exists());
+    }
+
+    @Test
+    @TestDescription("없는 이벤트를 공개하면 404 응답받기")
+    public void publishEvent404() throws Exception {
+        this.perform(post("/api/events/999999/publish")
+                        .header(HttpHeaders.AUTHORIZATION, getBearerToken(true)))
+                .andExpect(status().isNotFound());
+    }
+
+    // 이벤트 API 는 비동기로 처리되므로 결과가 나올 때까지 기다렸다가 디스패치한다.
+    private ResultActions perform(RequestBuilder requestBuilder) throws Exception {
+        ResultActions resultActions = this.mockMvc.perform(requestBuilder);
+        MvcResult mvcResult = resultActions.andReturn();
+        if (!mvcResult.getRequest().isAsyncStarted()) {
+            return resultActions;
+        }
+        return this.mockMvc.perform(asyncDispatch(mvcResult));
+    }
+
+    private JsonNode readTree(RequestBuilder requestBuilder, MediaType mediaType, JsonFactory jsonFactory) throws Exception {
+        return readTree(requestBuilder, status().isOk(), mediaType, jsonFactory);
+    }
+
+    private JsonNode readTree(RequestBuilder requestBuilder, ResultMatcher statusMatcher, MediaType mediaType,
+                              JsonFactory jsonFactory) throws Exception {
+        byte[] body = this.perform(requestBuilder)
+                .andExpect(statusMatcher)
+                .andExpect(content().contentTypeCompatibleWith(mediaType))
+                .andReturn().getResponse().getContentAsByteArray();
+        return new ObjectMapper(jsonFactory).readTree(body);
+    }
+
+    private String nextLink(String responseBody) {
+        Jackson2JsonParser parser = new Jackson2JsonParser();
+        Map<?, ?> links = (Map<?, ?>) parser.parseMap(responseBody).get("_links");
+        return ((Map<?, ?>) links.get("next")).get("href").toString();
+    }
+
     private Event generateEvent(int index) {
         Event event = buildEvent(index);
         return this.eventRepository.save(event);
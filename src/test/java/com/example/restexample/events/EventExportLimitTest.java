@@ -0,0 +1,127 @@
+package com.example.restexample.events;
+
+import com.example.restexample.configs.AppProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EventExportLimitTest {
+    private EventExporter eventExporter;
+    private EventController eventController;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.setEventExportMaxConcurrency(1);
+        appProperties.setEventExportTimeout(Duration.ofMinutes(10));
+        this.eventExporter = mock(EventExporter.class);
+        this.eventController = new EventController(mock(EventRepository.class), mock(EventMapper.class),
+                mock(EventValidator.class), mock(EventCountEstimator.class), mock(EventCache.class),
+                this.eventExporter, mock(EventSearchIndex.class), mock(EventBulkhead.class),
+                mock(EventBatchValidator.class), appProperties);
+    }
+
+    @Test
+    void respondsUnavailableWhileAnotherExportRuns() throws Exception {
+        // Given : 내보내기 하나가 아직 끝나지 않았다.
+        ResponseEntity<StreamingResponseBody> running = this.eventController.exportEvents(new MockHttpServletRequest());
+        assertThat(running.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(running.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+
+        // When
+        ResponseEntity<StreamingResponseBody> rejected = this.eventController.exportEvents(new MockHttpServletRequest());
+
+        // Then : 비동기로 넘기지 않고 바로 503 으로 끝낸다.
+        assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(rejected.getBody()).isNull();
+
+        // 앞의 내보내기가 끝나면 다시 받는다.
+        running.getBody().writeTo(new ByteArrayOutputStream());
+        verify(this.eventExporter).export(any(OutputStream.class), any(BooleanSupplier.class));
+        assertThat(this.eventController.exportEvents(new MockHttpServletRequest()).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void releasesPermitWhenExportFails() throws Exception {
+        // Given
+        doThrow(new IllegalStateException("connection lost")).when(this.eventExporter)
+                .export(any(OutputStream.class), any(BooleanSupplier.class));
+        ResponseEntity<StreamingResponseBody> response = this.eventController.exportEvents(new MockHttpServletRequest());
+
+        // When : 내보내기 실패는 그대로 전달된다.
+        assertThatThrownBy(() -> response.getBody().writeTo(new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalStateException.class);
+
+        // Then
+        assertThat(this.eventController.exportEvents(new MockHttpServletRequest()).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void stopsExportAndUsesOwnTimeout() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        AsyncWebRequest asyncWebRequest = mock(AsyncWebRequest.class);
+        ResponseEntity<StreamingResponseBody> response = this.eventController.exportEvents(request);
+        CallableProcessingInterceptor interceptor = interceptor(request);
+
+        // When : 비동기 처리를 시작하면 이 요청의 시간 제한을 쓰고, 시간이 지나면 취소를 알린다.
+        interceptor.beforeConcurrentHandling(asyncWebRequest, () -> null);
+        AtomicBoolean cancelledWhileWriting = new AtomicBoolean();
+        doAnswer(invocation -> {
+            interceptor.handleTimeout(asyncWebRequest, () -> null);
+            cancelledWhileWriting.set(invocation.<BooleanSupplier>getArgument(1).getAsBoolean());
+            return null;
+        }).when(this.eventExporter).export(any(OutputStream.class), any(BooleanSupplier.class));
+        response.getBody().writeTo(new ByteArrayOutputStream());
+
+        // Then
+        verify(asyncWebRequest).setTimeout(Duration.ofMinutes(10).toMillis());
+        assertThat(cancelledWhileWriting).isTrue();
+        assertThat(this.eventController.exportEvents(new MockHttpServletRequest()).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void releasesPermitWhenRequestEndsBeforeExportStarts() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        ResponseEntity<StreamingResponseBody> response = this.eventController.exportEvents(request);
+
+        // When : 작업 스레드가 본문을 쓰기 전에 요청이 끝났다.
+        interceptor(request).afterCompletion(mock(AsyncWebRequest.class), () -> null);
+        response.getBody().writeTo(new ByteArrayOutputStream());
+
+        // Then : 늦게 시작한 작업은 내보내지 않고, 허가는 한 번만 돌려준다.
+        verify(this.eventExporter, never()).export(any(OutputStream.class), any(BooleanSupplier.class));
+        assertThat(this.eventController.exportEvents(new MockHttpServletRequest()).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(this.eventController.exportEvents(new MockHttpServletRequest()).getStatusCode())
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private static CallableProcessingInterceptor interceptor(MockHttpServletRequest request) {
+        return WebAsyncUtils.getAsyncManager(request).getCallableInterceptor(EventStreamLimiter.class.getName());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.restexample.events;
+
+import com.example.restexample.accounts.Account;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventMapperTest {
+    private final EventMapper eventMapper = new EventMapper();
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    @Test
+    void toEvent() {
+        // Given
+        EventDto eventDto = eventDto();
+
+        // When
+        Event event = this.eventMapper.toEvent(eventDto);
+
+        // Then
+        assertThat(event).usingRecursiveComparison()
+                .isEqualTo(this.modelMapper.map(eventDto, Event.class));
+        assertThat(event.getEventStatus()).isEqualTo(EventStatus.DRAFT);
+    }
+
+    @Test
+    void update() {
+        // Given
+        EventDto eventDto = eventDto();
+        eventDto.setLocation(null);
+        Event event = existingEvent();
+        Event expected = existingEvent();
+
+        // When
+        this.eventMapper.update(eventDto, event);
+        this.modelMapper.map(eventDto, expected);
+
+        // Then
+        assertThat(event).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(event.getId()).isEqualTo(10);
+        assertThat(event.getManager().getId()).isEqualTo(1);
+        assertThat(event.getEventStatus()).isEqualTo(EventStatus.PUBLISHED);
+    }
+
+    private EventDto eventDto() {
+        return EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 12, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 23, 0))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 10, 0))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 25, 20, 0))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타트업 팩토리")
+                .build();
+    }
+
+    private Event existingEvent() {
+        return Event.builder()
+                .id(10)
+                .name("event")
+                .description("test event")
+                .location("강남역")
+                .free(true)
+                .offline(true)
+                .eventStatus(EventStatus.PUBLISHED)
+                .manager(Account.builder().id(1).build())
+                .build();
+    }
+}
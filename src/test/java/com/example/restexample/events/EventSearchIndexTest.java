@@ -0,0 +1,142 @@
+package com.example.restexample.events;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventSearchIndexTest {
+    private EventRepository eventRepository;
+    private EventSearchIndex eventSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        this.eventRepository = mock(EventRepository.class);
+        this.eventSearchIndex = new EventSearchIndex(this.eventRepository);
+    }
+
+    @Test
+    void tokenizeKoreanAsBigrams() {
+        assertThat(EventTokenizer.tokenize("강남역 D2 스프링Boot, 역"))
+                .containsExactly("강남", "남역", "d2", "스프", "프링", "boot", "역");
+    }
+
+    @Test
+    void searchMatchesAllTerms() {
+        // Given
+        this.eventSearchIndex.index(view(1, "Spring REST API", "스프링으로 REST API 만들기", "강남역 D2 스타트업 팩토리"));
+        this.eventSearchIndex.index(view(2, "JPA", "자바 ORM 표준", "강남역"));
+
+        // When & Then
+        assertThat(ids(search("강남역에서"))).isEmpty();
+        assertThat(ids(search("강남역"))).containsExactlyInAnyOrder(1, 2);
+        assertThat(ids(search("rest 강남"))).containsExactly(1);
+        assertThat(ids(search("스타트업 jpa"))).isEmpty();
+        assertThat(ids(search("!!"))).isEmpty();
+    }
+
+    @Test
+    void nameMatchRanksFirst() {
+        // Given
+        this.eventSearchIndex.index(view(1, "JPA", "Spring Data JPA", "판교"));
+        this.eventSearchIndex.index(view(2, "Spring", "REST API", "판교"));
+
+        // When
+        Page<EventView> page = search("spring");
+
+        // Then
+        assertThat(ids(page)).containsExactly(2, 1);
+    }
+
+    @Test
+    void reindexReplacesOldTerms() {
+        // Given
+        this.eventSearchIndex.index(view(1, "Spring", "REST API", "판교"));
+
+        // When
+        this.eventSearchIndex.index(view(1, "Kotlin", "REST API", "판교"));
+
+        // Then
+        assertThat(ids(search("spring"))).isEmpty();
+        assertThat(ids(search("kotlin"))).containsExactly(1);
+        assertThat(this.eventSearchIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    void searchReturnsRequestedPage() {
+        // Given
+        IntStream.rangeClosed(1, 5).forEach(id -> this.eventSearchIndex.index(view(id, "Spring", "REST API", "판교")));
+
+        // When
+        Page<EventView> page = this.eventSearchIndex.search("spring", PageRequest.of(1, 2));
+
+        // Then
+        assertThat(ids(page)).containsExactly(3, 4);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+    }
+
+    @Test
+    void shortestEventsRankFirstInLargeIndex() {
+        // Given : 모든 이벤트에 spring, 세 개 중 하나에 java. 뒤에 붙는 단어 수로 길이가 달라진다.
+        IntStream.rangeClosed(1, 3000).forEach(id -> this.eventSearchIndex.index(view(id, "Spring",
+                (id % 3 == 0 ? "java " : "") + "word ".repeat(id % 7), "판교")));
+
+        // When
+        Page<EventView> spring = search("spring");
+        Page<EventView> springJava = search("spring java");
+        this.eventSearchIndex.index(view(21, "Spring", "", "판교"));
+        Page<EventView> afterUpdate = search("java spring");
+
+        // Then : 같은 점수면 id 순
+        assertThat(spring.getTotalElements()).isEqualTo(3000);
+        assertThat(ids(spring)).allMatch(id -> id % 7 == 0 && id % 3 != 0).isSorted();
+        assertThat(springJava.getTotalElements()).isEqualTo(1000);
+        assertThat(ids(springJava)).allMatch(id -> id % 21 == 0).isSorted().startsWith(21, 42);
+        assertThat(afterUpdate.getTotalElements()).isEqualTo(999);
+        assertThat(ids(afterUpdate)).startsWith(42, 63);
+    }
+
+    @Test
+    void rebuildKeepsNewerEvents() {
+        // Given
+        this.eventSearchIndex.index(view(1, "Kotlin", "REST API", "판교"));
+        when(this.eventRepository.streamAllViews()).thenReturn(Stream.of(
+                view(1, "Spring", "REST API", "판교"),
+                view(2, "Spring", "REST API", "판교")));
+
+        // When
+        this.eventSearchIndex.rebuild();
+
+        // Then
+        assertThat(ids(search("kotlin"))).containsExactly(1);
+        assertThat(ids(search("spring"))).containsExactly(2);
+    }
+
+    private Page<EventView> search(String query) {
+        return this.eventSearchIndex.search(query, PageRequest.of(0, 20));
+    }
+
+    private static List<Integer> ids(Page<EventView> page) {
+        return page.getContent().stream().map(EventView::getId).collect(Collectors.toList());
+    }
+
+    private static EventView view(int id, String name, String description, String location) {
+        return EventView.of(Event.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .location(location)
+                .eventStatus(EventStatus.DRAFT)
+                .build());
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.restexample.events;
+
+import com.example.restexample.common.TestDescription;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class EventStatusSchedulerTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2018, 11, 25, 12, 0);
+
+    @Autowired
+    EventStatusScheduler eventStatusScheduler;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    EventCache eventCache;
+
+    @Autowired
+    EventSearchIndex eventSearchIndex;
+
+    @Before
+    public void setUp() {
+        this.eventRepository.deleteAll();
+    }
+
+    @Test
+    @TestDescription("시각이 지난 이벤트의 상태를 옮기는 테스트")
+    public void advanceByTime() {
+        // Given : 이름은 지금 시각이 이벤트 일정의 어디쯤인지 나타낸다.
+        Event draft = save("draft", EventStatus.DRAFT, -10);
+        Event beforeEnrollment = save("before", EventStatus.PUBLISHED, 1);
+        Event enrolling = save("enrolling", EventStatus.PUBLISHED, -1);
+        Event enrollmentClosed = save("closed", EventStatus.BEGAN_ENROLLMEND, -3);
+        Event started = save("started", EventStatus.CLOSED_ENROLLMENT, -5);
+        Event ended = save("ended", EventStatus.PUBLISHED, -10);
+        this.eventCache.findById(ended.getId());
+        this.eventSearchIndex.index(EventView.of(ended));
+
+        // When
+        int advanced = this.eventStatusScheduler.advance(NOW);
+
+        // Then : DRAFT 는 그대로 두고, 여러 시각이 지난 이벤트는 한 번에 ENDED 가 된다.
+        assertThat(advanced).isEqualTo(4);
+        assertThat(statusOf(draft)).isEqualTo(EventStatus.DRAFT);
+        assertThat(statusOf(beforeEnrollment)).isEqualTo(EventStatus.PUBLISHED);
+        assertThat(statusOf(enrolling)).isEqualTo(EventStatus.BEGAN_ENROLLMEND);
+        assertThat(statusOf(enrollmentClosed)).isEqualTo(EventStatus.CLOSED_ENROLLMENT);
+        assertThat(statusOf(started)).isEqualTo(EventStatus.STARTED);
+        assertThat(this.eventRepository.findById(ended.getId()).orElseThrow().getVersion())
+                .isEqualTo(ended.getVersion() + 1);
+        assertThat(this.eventCache.findById(ended.getId()).orElseThrow().getEventStatus()).isEqualTo(EventStatus.ENDED);
+        assertThat(this.eventSearchIndex.search("ended", PageRequest.of(0, 20)).getContent())
+                .extracting(EventView::getEventStatus).containsExactly(EventStatus.ENDED);
+        assertThat(this.eventStatusScheduler.advance(NOW)).isZero();
+    }
+
+    @Test
+    @TestDescription("여러 노드가 동시에 돌아도 이벤트 상태를 한 번만 옮기는 테스트")
+    public void advanceConcurrently() throws Exception {
+        // Given : 한 번에 옮기는 개수보다 많은 이벤트
+        List<Event> events = IntStream.rangeClosed(1, 1200)
+                .mapToObj(i -> buildEvent("event " + i, EventStatus.PUBLISHED, -10))
+                .collect(Collectors.toList());
+        this.eventRepository.saveAll(events);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return this.eventStatusScheduler.advance(NOW);
+            }));
+        }
+        start.countDown();
+        int advanced = 0;
+        for (Future<Integer> future : futures) {
+            advanced += future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(advanced).isEqualTo(1200);
+        assertThat(this.eventRepository.findAll())
+                .allSatisfy(event -> {
+                    assertThat(event.getEventStatus()).isEqualTo(EventStatus.ENDED);
+                    assertThat(event.getVersion()).isEqualTo(1);
+                });
+    }
+
+    private EventStatus statusOf(Event event) {
+        return this.eventRepository.findById(event.getId()).orElseThrow().getEventStatus();
+    }
+
+    private Event save(String name, EventStatus eventStatus, int daysFromEnrollment) {
+        return this.eventRepository.save(buildEvent(name, eventStatus, daysFromEnrollment));
+    }
+
+    // 등록 시작, 등록 마감, 이벤트 시작, 이벤트 종료가 이틀 간격으로 이어진다.
+    private static Event buildEvent(String name, EventStatus eventStatus, int daysFromEnrollment) {
+        LocalDateTime beginEnrollment = NOW.plusDays(daysFromEnrollment);
+        return Event.builder()
+                .name(name)
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(beginEnrollment)
+                .closeEnrollmentDateTime(beginEnrollment.plusDays(2))
+                .beginEventDateTime(beginEnrollment.plusDays(4))
+                .endEventDateTime(beginEnrollment.plusDays(6))
+                .limitOfEnrollment(100)
+                .eventStatus(eventStatus)
+                .build();
+    }
+}
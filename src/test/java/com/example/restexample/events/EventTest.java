@@ -9,6 +9,7 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.runner.RunWith;
 
+import java.time.LocalDateTime;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -40,6 +41,18 @@ class EventTest {
         assertThat(event.getDescription()).isEqualTo(description);
     }
 
+    @Test
+    void publish() {
+        // Given
+        Event event = new Event();
+
+        // When & Then : DRAFT 만 공개하고, 두 번째는 아무것도 바꾸지 않는다.
+        assertThat(event.publish()).isTrue();
+        assertThat(event.getEventStatus()).isEqualTo(EventStatus.PUBLISHED);
+        assertThat(event.publish()).isFalse();
+        assertThat(event.getEventStatus()).isEqualTo(EventStatus.PUBLISHED);
+    }
+
     @ParameterizedTest
     @CsvSource({
             "0, 0, true",
@@ -85,6 +98,26 @@ class EventTest {
         assertThat(event.isOffline()).isFalse();
     }
 
+    @ParameterizedTest
+    @CsvSource({
+            "PUBLISHED, 2018-11-23T12:00, true",
+            "PUBLISHED, 2018-11-23T11:59, false",
+            "PUBLISHED, 2018-11-24T12:00, false",
+            "BEGAN_ENROLLMEND, 2018-11-24T11:59, true",
+            "DRAFT, 2018-11-23T12:00, false",
+    })
+    void testEnrollmentOpen(EventStatus eventStatus, LocalDateTime now, boolean isOpen) {
+        // Given
+        Event event = Event.builder()
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 12, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 12, 0))
+                .eventStatus(eventStatus)
+                .build();
+
+        // When & Then
+        assertThat(event.isEnrollmentOpen(now)).isEqualTo(isOpen);
+    }
+
     private static Stream<Arguments> parametersForTestOffline() {
         return Stream.of(
                 Arguments.of("강남역", true),
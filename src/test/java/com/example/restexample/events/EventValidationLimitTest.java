@@ -0,0 +1,52 @@
+package com.example.restexample.events;
+
+import com.example.restexample.configs.AppProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class EventValidationLimitTest {
+    @Test
+    void respondsUnavailableWhileOtherValidationsRun() throws Exception {
+        // Given : 동시에 하나만 검증한다.
+        AppProperties appProperties = new AppProperties();
+        appProperties.setEventValidationMaxConcurrency(1);
+        EventBatchValidator eventBatchValidator = mock(EventBatchValidator.class);
+        EventController eventController = new EventController(mock(EventRepository.class), mock(EventMapper.class),
+                mock(EventValidator.class), mock(EventCountEstimator.class), mock(EventCache.class),
+                mock(EventExporter.class), mock(EventSearchIndex.class), mock(EventBulkhead.class),
+                eventBatchValidator, appProperties);
+        InputStream inputStream = new ByteArrayInputStream(new byte[0]);
+        ResponseEntity<StreamingResponseBody> running = eventController.validateEvents(inputStream, new MockHttpServletRequest());
+        assertThat(running.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+
+        // When
+        ResponseEntity<StreamingResponseBody> rejected = eventController.validateEvents(inputStream, new MockHttpServletRequest());
+
+        // Then
+        assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+
+        // 앞의 검증이 끝나면 다시 받는다.
+        running.getBody().writeTo(new ByteArrayOutputStream());
+        verify(eventBatchValidator).validate(same(inputStream), any(OutputStream.class), any(BooleanSupplier.class));
+        assertThat(eventController.validateEvents(inputStream, new MockHttpServletRequest()).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+}
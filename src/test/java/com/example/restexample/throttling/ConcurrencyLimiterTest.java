@@ -0,0 +1,85 @@
+package com.example.restexample.throttling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimiterTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    void rejectsAboveLimit() {
+        // Given
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 2);
+
+        // When & Then
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        limiter.release();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+        // Given : 평소 응답 시간을 익힌다.
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 110);
+        runWindows(limiter, 5, 110, FAST);
+        assertThat(limiter.getLimit()).isEqualTo(110);
+
+        // When : DB 가 느려진다.
+        runWindows(limiter, 10, limiter.getLimit(), SLOW);
+
+        // Then
+        assertThat(limiter.getLimit()).isLessThan(55);
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(10);
+    }
+
+    @Test
+    void growsBackWhenLatencyRecovers() {
+        // Given
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 110);
+        runWindows(limiter, 5, 110, FAST);
+        runWindows(limiter, 20, limiter.getLimit(), SLOW);
+        int shrunk = limiter.getLimit();
+
+        // When
+        runWindows(limiter, 50, limiter.getLimit(), FAST);
+
+        // Then
+        assertThat(limiter.getLimit()).isGreaterThan(shrunk);
+        assertThat(limiter.getLimit()).isLessThanOrEqualTo(110);
+    }
+
+    @Test
+    void keepsLimitWhenMostlyIdle() {
+        // Given
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 110);
+        runWindows(limiter, 5, 110, FAST);
+
+        // When : 요청이 한두 개뿐이면 느려도 한도에 대해 알 수 없다.
+        runWindows(limiter, 20, 2, SLOW);
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(110);
+    }
+
+    // 한도 안에서 concurrency 개를 계속 붙잡아 둔 채로 하나씩 rttNanos 만에 끝낸다.
+    private static void runWindows(ConcurrencyLimiter limiter, int windows, int concurrency, long rttNanos) {
+        int held = 0;
+        for (int i = 0; i < windows * ConcurrencyLimiter.WINDOW_SIZE; i++) {
+            while (held < concurrency && limiter.tryAcquire()) {
+                held++;
+            }
+            limiter.release(rttNanos);
+            held--;
+        }
+        for (; held > 0; held--) {
+            limiter.release();
+        }
+    }
+}
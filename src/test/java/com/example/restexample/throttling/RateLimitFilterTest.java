@@ -0,0 +1,142 @@
+package com.example.restexample.throttling;
+
+import com.example.restexample.configs.AppProperties;
+import com.example.restexample.tokens.BoundedTokenStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+    private final AppProperties appProperties = new AppProperties();
+    private final BoundedTokenStore tokenStore = new BoundedTokenStore(100);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimitFilter rateLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+        // 테스트 중에 버킷이 다시 차지 않을 만큼 느린 속도
+        this.appProperties.setApiReadRateLimit(0.01);
+        this.appProperties.setApiReadRateLimitBurst(2);
+        this.appProperties.setApiWriteRateLimit(0.01);
+        this.appProperties.setApiWriteRateLimitBurst(1);
+        this.appProperties.setTokenRateLimit(0.01);
+        this.appProperties.setTokenRateLimitBurst(1);
+        this.rateLimitFilter = new RateLimitFilter(this.appProperties, this.tokenStore, this.meterRegistry);
+    }
+
+    @Test
+    void rejectsWithRetryAfter() throws Exception {
+        // Given
+        assertThat(filter(request("GET", "/api/events", "10.0.0.1")).getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(filter(request("GET", "/api/events", "10.0.0.1")).getStatus()).isEqualTo(HttpStatus.OK.value());
+
+        // When
+        MockHttpServletResponse response = filter(request("GET", "/api/events", "10.0.0.1"));
+
+        // Then : 0.01 개/초 이므로 100 초 뒤에 다시 허용된다.
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(Long.parseLong(response.getHeader(HttpHeaders.RETRY_AFTER))).isBetween(99L, 100L);
+        assertThat(this.meterRegistry.get("rate.limit.rejections").tag("group", "api-read").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void limitsGroupsSeparately() throws Exception {
+        // Given
+        filter(request("POST", "/oauth/token", "10.0.0.1"));
+        filter(request("POST", "/api/events", "10.0.0.1"));
+
+        // When & Then : 토큰 발급과 쓰기를 다 썼어도 읽기는 된다.
+        assertThat(filter(request("POST", "/oauth/token", "10.0.0.1")).getStatus())
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(filter(request("PUT", "/api/events/1", "10.0.0.1")).getStatus())
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(filter(request("GET", "/api/events/1", "10.0.0.1")).getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void keysByAccountWhenTokenIsValid() throws Exception {
+        // Given : 같은 IP 에서 두 계정이 쓰기 요청을 보낸다.
+        MockHttpServletRequest first = request("POST", "/api/events", "10.0.0.1");
+        first.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + storeToken("first@email.com"));
+        MockHttpServletRequest second = request("POST", "/api/events", "10.0.0.1");
+        second.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + storeToken("second@email.com"));
+
+        // When & Then
+        assertThat(filter(first).getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(filter(second).getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(filter(first).getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @Test
+    void keysByIpWhenTokenIsUnknown() throws Exception {
+        // Given
+        MockHttpServletRequest request = request("POST", "/api/events", "10.0.0.1");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer unknown");
+        filter(request);
+
+        // When & Then : 모르는 토큰을 바꿔 가며 보내도 IP 로 묶인다.
+        MockHttpServletRequest other = request("POST", "/api/events", "10.0.0.1");
+        other.addHeader(HttpHeaders.AUTHORIZATION, "Bearer other");
+        assertThat(filter(other).getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(filter(request("POST", "/api/events", "10.0.0.2")).getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void ignoresOtherPaths() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertThat(filter(request("GET", "/docs/index.html", "10.0.0.1")).getStatus())
+                    .isEqualTo(HttpStatus.OK.value());
+        }
+    }
+
+    @Test
+    void passesEverythingWhenDisabled() throws Exception {
+        // Given
+        this.appProperties.setRateLimitEnabled(false);
+        this.rateLimitFilter = new RateLimitFilter(this.appProperties, this.tokenStore, new SimpleMeterRegistry());
+
+        // When & Then
+        for (int i = 0; i < 10; i++) {
+            assertThat(filter(request("POST", "/oauth/token", "10.0.0.1")).getStatus())
+                    .isEqualTo(HttpStatus.OK.value());
+        }
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        this.rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    private String storeToken(String username) {
+        OAuth2Request oAuth2Request = new OAuth2Request(Map.of(), "myApp", List.of(), true, Set.of("read"),
+                Set.of(), null, Set.of(), Map.of());
+        OAuth2Authentication authentication = new OAuth2Authentication(oAuth2Request,
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+        DefaultOAuth2AccessToken token = new DefaultOAuth2AccessToken(username + "-token");
+        this.tokenStore.storeAccessToken(token, authentication);
+        return token.getValue();
+    }
+}
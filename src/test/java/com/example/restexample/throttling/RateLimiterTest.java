@@ -0,0 +1,150 @@
+package com.example.restexample.throttling;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+    private final FakeTicker ticker = new FakeTicker();
+
+    @Test
+    void allowsBurstThenRejects() {
+        // Given : 초당 10 개, 한꺼번에 5 개
+        RateLimiter rateLimiter = new RateLimiter(10, 5, 100, this.ticker);
+
+        // When & Then
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire("a")).isZero();
+        }
+        assertThat(rateLimiter.tryAcquire("a")).isEqualTo(Duration.ofMillis(100));
+    }
+
+    @Test
+    void refillsAtRate() {
+        // Given
+        RateLimiter rateLimiter = new RateLimiter(10, 5, 100, this.ticker);
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("a");
+        }
+
+        // When
+        this.ticker.advance(Duration.ofMillis(250));
+
+        // Then : 250ms 동안 두 개가 찬다.
+        assertThat(rateLimiter.tryAcquire("a")).isZero();
+        assertThat(rateLimiter.tryAcquire("a")).isZero();
+        assertThat(rateLimiter.tryAcquire("a")).isEqualTo(Duration.ofMillis(50));
+    }
+
+    @Test
+    void rejectionsDoNotExtendWait() {
+        // Given
+        RateLimiter rateLimiter = new RateLimiter(1, 1, 100, this.ticker);
+        rateLimiter.tryAcquire("a");
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            rateLimiter.tryAcquire("a");
+        }
+        this.ticker.advance(Duration.ofSeconds(1));
+
+        // Then
+        assertThat(rateLimiter.tryAcquire("a")).isZero();
+    }
+
+    @Test
+    void keysAreIndependent() {
+        // Given
+        RateLimiter rateLimiter = new RateLimiter(1, 1, 100, this.ticker);
+
+        // When & Then
+        assertThat(rateLimiter.tryAcquire("a")).isZero();
+        assertThat(rateLimiter.tryAcquire("a")).isPositive();
+        assertThat(rateLimiter.tryAcquire("b")).isZero();
+    }
+
+    @Test
+    void evictsIdleKeys() {
+        // Given
+        RateLimiter rateLimiter = new RateLimiter(10, 5, 100, this.ticker);
+        rateLimiter.tryAcquire("a");
+        rateLimiter.tryAcquire("b");
+
+        // When : 버킷이 다시 가득 찰 만큼 쉰다.
+        this.ticker.advance(Duration.ofMillis(500));
+        rateLimiter.cleanUp();
+
+        // Then
+        assertThat(rateLimiter.estimatedSize()).isZero();
+    }
+
+    @Test
+    void boundsKeyCount() {
+        // Given
+        RateLimiter rateLimiter = new RateLimiter(10, 5, 100, this.ticker);
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            rateLimiter.tryAcquire("key-" + i);
+        }
+        rateLimiter.cleanUp();
+
+        // Then
+        assertThat(rateLimiter.estimatedSize()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    void concurrentAcquireNeverExceedsBurst() throws Exception {
+        // Given : 시간이 흐르지 않으므로 정확히 burst 개만 허용해야 한다.
+        RateLimiter rateLimiter = new RateLimiter(1, 50, 100, this.ticker);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < 1000; j++) {
+                    if (rateLimiter.tryAcquire("a").isZero()) {
+                        allowed.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(allowed.get()).isEqualTo(50);
+    }
+
+    static class FakeTicker implements Ticker {
+        private final AtomicLong nanos = new AtomicLong();
+
+        @Override
+        public long read() {
+            return this.nanos.get();
+        }
+
+        void advance(Duration duration) {
+            this.nanos.addAndGet(duration.toNanos());
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.restexample.tokens;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.common.DefaultExpiringOAuth2RefreshToken;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.TokenRequest;
+import org.springframework.security.oauth2.provider.token.DefaultTokenServices;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedTokenStoreTest {
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void tokenServicesRoundTrip() {
+        // Given
+        BoundedTokenStore tokenStore = new BoundedTokenStore(100, this.clock);
+        DefaultTokenServices tokenServices = new DefaultTokenServices();
+        tokenServices.setTokenStore(tokenStore);
+        tokenServices.setSupportRefreshToken(true);
+        OAuth2Authentication authentication = authentication("user");
+
+        // When
+        OAuth2AccessToken accessToken = tokenServices.createAccessToken(authentication);
+
+        // Then
+        assertThat(tokenServices.createAccessToken(authentication).getValue()).isEqualTo(accessToken.getValue());
+        assertThat(tokenServices.loadAuthentication(accessToken.getValue()).getName()).isEqualTo("user");
+        assertThat(tokenStore.findTokensByClientIdAndUserName("myApp", "user")).hasSize(1);
+        assertThat(tokenStore.findTokensByClientId("myApp")).hasSize(1);
+
+        OAuth2AccessToken refreshed = tokenServices.refreshAccessToken(accessToken.getRefreshToken().getValue(),
+                new TokenRequest(Map.of(), "myApp", Set.of("read"), "refresh_token"));
+        assertThat(refreshed.getValue()).isNotEqualTo(accessToken.getValue());
+        assertThat(tokenStore.readAccessToken(accessToken.getValue())).isNull();
+        assertThat(tokenStore.readAccessToken(refreshed.getValue())).isNotNull();
+        assertThat(tokenStore.accessTokenCount()).isEqualTo(1);
+        assertThat(tokenStore.refreshTokenCount()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredTokensAreRemovedOnTick() {
+        // Given
+        BoundedTokenStore tokenStore = new BoundedTokenStore(100, this.clock);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        tokenStore.bindTo(registry);
+        tokenStore.storeAccessToken(accessToken("short", 10), authentication("a"));
+        tokenStore.storeAccessToken(accessToken("long", 600), authentication("b"));
+
+        // When
+        this.clock.advance(11);
+        tokenStore.expire();
+
+        // Then
+        assertThat(tokenStore.readAccessToken("short")).isNull();
+        assertThat(tokenStore.readAccessToken("long")).isNotNull();
+        assertThat(tokenStore.getAccessToken(authentication("a"))).isNull();
+        assertThat(registry.get("oauth2.tokens.live").tag("type", "access").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("oauth2.tokens.expired").tag("type", "access").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void tokensSurviveUntilLaterRoundOfWheel() {
+        // Given
+        BoundedTokenStore tokenStore = new BoundedTokenStore(100, this.clock);
+        // 휠 한 바퀴(4096초)보다 길게 유효한 토큰은 같은 버킷을 지나도 남아 있어야 한다.
+        tokenStore.storeAccessToken(accessToken("token", 4096 + 10), authentication("a"));
+
+        // When
+        this.clock.advance(10);
+        tokenStore.expire();
+        this.clock.advance(4096 - 10);
+        tokenStore.expire();
+
+        // Then
+        assertThat(tokenStore.readAccessToken("token")).isNotNull();
+
+        this.clock.advance(11);
+        tokenStore.expire();
+        assertThat(tokenStore.readAccessToken("token")).isNull();
+    }
+
+    @Test
+    void earliestExpiringTokensAreEvictedOverMaximumSize() {
+        // Given
+        BoundedTokenStore tokenStore = new BoundedTokenStore(10, this.clock);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        tokenStore.bindTo(registry);
+
+        // When
+        for (int i = 20; i > 0; i--) {
+            tokenStore.storeAccessToken(accessToken("token" + i, i * 10), authentication("user" + i));
+        }
+
+        // Then
+        assertThat(tokenStore.accessTokenCount()).isEqualTo(10);
+        for (int i = 1; i <= 10; i++) {
+            assertThat(tokenStore.readAccessToken("token" + i)).isNull();
+            assertThat(tokenStore.readAccessToken("token" + (i + 10))).isNotNull();
+        }
+        assertThat(registry.get("oauth2.tokens.evicted").tag("type", "access").functionCounter().count()).isEqualTo(10);
+    }
+
+    @Test
+    void concurrentStoreReadRemoveStaysBounded() throws Exception {
+        // Given
+        int maximumSize = 1000;
+        int threads = 8;
+        BoundedTokenStore tokenStore = new BoundedTokenStore(maximumSize, this.clock);
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            // When
+            Future<?> ticker = executor.submit(() -> {
+                while (running.get()) {
+                    this.clock.advance(1);
+                    tokenStore.expire();
+                }
+            });
+
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                workers.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 20_000; i++) {
+                        String value = thread + "-" + i;
+                        OAuth2AccessToken token = accessToken(value, random.nextInt(1, 120));
+                        OAuth2Authentication authentication = authentication("user" + random.nextInt(2000));
+                        tokenStore.storeAccessToken(token, authentication);
+                        tokenStore.storeRefreshToken(token.getRefreshToken(), authentication);
+
+                        OAuth2AccessToken read = tokenStore.readAccessToken(value);
+                        if (read != null) {
+                            assertThat(read.getValue()).isEqualTo(value);
+                        }
+                        tokenStore.getAccessToken(authentication);
+                        if (random.nextInt(4) == 0) {
+                            tokenStore.removeAccessTokenUsingRefreshToken(token.getRefreshToken());
+                            tokenStore.removeRefreshToken(token.getRefreshToken());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+            running.set(false);
+            ticker.get(10, TimeUnit.SECONDS);
+
+            // Then
+            assertThat(tokenStore.accessTokenCount()).isLessThanOrEqualTo(maximumSize);
+            assertThat(tokenStore.refreshTokenCount()).isLessThanOrEqualTo(maximumSize);
+
+            // 모두 만료된 뒤에는 색인까지 비어 있어야 한다.
+            this.clock.advance(200);
+            tokenStore.expire();
+            assertThat(tokenStore.accessTokenCount()).isZero();
+            assertThat(tokenStore.refreshTokenCount()).isZero();
+            for (int i = 0; i < 2000; i++) {
+                assertThat(tokenStore.getAccessToken(authentication("user" + i))).isNull();
+            }
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+    }
+
+    private OAuth2AccessToken accessToken(String value, int validitySeconds) {
+        Date expiration = new Date(this.clock.millis() + validitySeconds * 1000L);
+        DefaultOAuth2AccessToken token = new DefaultOAuth2AccessToken(value);
+        token.setExpiration(expiration);
+        token.setRefreshToken(new DefaultExpiringOAuth2RefreshToken("refresh-" + value, expiration));
+        return token;
+    }
+
+    private static OAuth2Authentication authentication(String username) {
+        OAuth2Request request = new OAuth2Request(Map.of(), "myApp", List.of(), true, Set.of("read"),
+                Set.of(), null, Set.of(), Map.of());
+        return new OAuth2Authentication(request, new UsernamePasswordAuthenticationToken(username, "N/A", List.of()));
+    }
+
+    private static class MutableClock extends Clock {
+        private volatile long millis = Instant.parse("2021-03-01T00:00:00Z").toEpochMilli();
+
+        void advance(long seconds) {
+            this.millis += seconds * 1000;
+        }
+
+        @Override
+        public long millis() {
+            return this.millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(this.millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}